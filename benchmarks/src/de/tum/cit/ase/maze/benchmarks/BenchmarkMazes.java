@@ -0,0 +1,158 @@
+package de.tum.cit.ase.maze.benchmarks;
+
+import com.badlogic.gdx.Gdx;
+import de.tum.cit.ase.maze.HeadlessEnvironment;
+import de.tum.cit.ase.maze.MazeGrid;
+import de.tum.cit.ase.maze.MazeMap;
+import de.tum.cit.ase.maze.MazeRunnerGame;
+import de.tum.cit.ase.maze.enums.GameObjectID;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * BenchmarkMazes provides the mazes the benchmarks run on, by the name used in their @Param:
+ * "level-1" to "level-5" are the bundled maps, "synthetic-N" is a generated N x N maze.
+ *
+ * The bundled maps are read from the folder in the maze.mapsDir system property (set by the jmh task),
+ * synthetic mazes are generated with a fixed seed, so every run gets the same maze.
+ */
+public class BenchmarkMazes {
+
+    private static final String SYNTHETIC_PREFIX = "synthetic-";
+
+    /**
+     * side length of the rooms of synthetic mazes, including one wall
+     */
+    private static final int ROOM_SIZE = 6;
+
+    private BenchmarkMazes() {
+    }
+
+    /**
+     * Reads or generates the maze. Sets up the headless environment first, so MazeMaps can be created afterwards
+     *
+     * @param name name of the maze, e.g. "level-4" or "synthetic-2000"
+     * @return the maze
+     */
+    public static MazeGrid grid(String name) throws Exception {
+        HeadlessEnvironment.start();
+        if(name.startsWith(SYNTHETIC_PREFIX)){
+            int size = Integer.parseInt(name.substring(SYNTHETIC_PREFIX.length()));
+            return generate(size, size);
+        }
+        File file = new File(System.getProperty("maze.mapsDir", "maps"), name + ".properties");
+        return MazeRunnerGame.readMazeFile(Gdx.files.absolute(file.getAbsolutePath()));
+    }
+
+    /**
+     * @param name name of the maze
+     * @return level the maze is played in. Synthetic mazes count as custom maps
+     */
+    public static int level(String name){
+        if(name.startsWith(SYNTHETIC_PREFIX)){
+            return 100;
+        }
+        return Integer.parseInt(name.substring(name.lastIndexOf('-') + 1));
+    }
+
+    /**
+     * Creates the MazeMap of a maze
+     *
+     * @param name name of the maze
+     * @return a new MazeMap
+     */
+    public static MazeMap mazeMap(String name) throws Exception {
+        return new MazeMap(grid(name), level(name));
+    }
+
+    /**
+     * The game logs to System.out (dash, damage, ...). Sends it nowhere, so millions of benchmark invocations
+     * don't flood the JMH output. Printing still happens and is part of the measured time, like in the game
+     */
+    public static void discardConsoleOutput(){
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    /**
+     * Writes a grid in the .properties format, one "x,y=id" line per cell that isn't empty
+     *
+     * @param grid the maze
+     * @return content of the .properties file
+     */
+    public static byte[] toProperties(MazeGrid grid){
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StringBuilder line = new StringBuilder();
+        for(int y = 0; y < grid.getHeight(); y++){
+            for(int x = 0; x < grid.getWidth(); x++){
+                int id = grid.get(x, y);
+                if(id == MazeGrid.EMPTY){
+                    continue;
+                }
+                line.setLength(0);
+                line.append(x).append(',').append(y).append('=').append(id).append('\n');
+                out.writeBytes(line.toString().getBytes(StandardCharsets.ISO_8859_1));
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Generates a maze of rooms with a door in every wall, surrounded by an outer wall.
+     * Enemies, traps and keys are spread over the floor at about the density of the bundled levels
+     *
+     * @param width width in cells
+     * @param height height in cells
+     * @return the maze
+     */
+    public static MazeGrid generate(int width, int height){
+        Random random = new Random(42);
+        MazeGrid grid = new MazeGrid(width, height);
+        for(int y = 0; y < height; y++){
+            for(int x = 0; x < width; x++){
+                boolean border = x == 0 || y == 0 || x == width - 1 || y == height - 1;
+                if(border || x % ROOM_SIZE == 0 || y % ROOM_SIZE == 0){
+                    grid.set(x, y, GameObjectID.WALL.getId());
+                }
+            }
+        }
+        // a door in the left and in the bottom wall of every room, except in the outer wall
+        for(int roomY = 0; roomY < height; roomY += ROOM_SIZE){
+            for(int roomX = 0; roomX < width; roomX += ROOM_SIZE){
+                int doorX = roomX + 1 + random.nextInt(ROOM_SIZE - 1);
+                int doorY = roomY + 1 + random.nextInt(ROOM_SIZE - 1);
+                if(roomX > 0 && doorY < height - 1){
+                    grid.set(roomX, doorY, MazeGrid.EMPTY);
+                }
+                if(roomY > 0 && doorX < width - 1){
+                    grid.set(doorX, roomY, MazeGrid.EMPTY);
+                }
+            }
+        }
+        grid.set(1, 1, GameObjectID.ENTRYPOINT.getId());
+        grid.set(width - 1, height - 2, GameObjectID.EXIT.getId());
+        grid.set(width - 2, height - 2, MazeGrid.EMPTY);
+
+        int cells = width * height;
+        placeRandomly(grid, random, GameObjectID.KEY, 1);
+        placeRandomly(grid, random, GameObjectID.ENEMY, cells / 400);
+        placeRandomly(grid, random, GameObjectID.TRAP, cells / 300);
+        return grid;
+    }
+
+    private static void placeRandomly(MazeGrid grid, Random random, GameObjectID gameObjectID, int count){
+        int placed = 0;
+        while(placed < count){
+            int x = 1 + random.nextInt(grid.getWidth() - 2);
+            int y = 1 + random.nextInt(grid.getHeight() - 2);
+            if(grid.get(x, y) == MazeGrid.EMPTY){
+                grid.set(x, y, gameObjectID.getId());
+                placed++;
+            }
+        }
+    }
+}
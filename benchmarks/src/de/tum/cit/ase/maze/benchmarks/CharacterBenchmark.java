@@ -0,0 +1,94 @@
+package de.tum.cit.ase.maze.benchmarks;
+
+import de.tum.cit.ase.maze.GameObject;
+import de.tum.cit.ase.maze.MazeMap;
+import de.tum.cit.ase.maze.characters.Ghost;
+import de.tum.cit.ase.maze.characters.Player;
+import de.tum.cit.ase.maze.enums.Direction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What characters do per step: the player's dash and the AI of all ghosts of the maze
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CharacterBenchmark {
+
+    /**
+     * length of a simulation step at the default tick rate
+     */
+    private static final float DELTA = 1f / 60f;
+
+    /**
+     * more than the dash cooldown of the player
+     */
+    private static final float DASH_COOLDOWN = 1.01f;
+
+    @Param({"level-1", "level-2", "level-3", "level-4", "level-5", "synthetic-500", "synthetic-2000"})
+    private String maze;
+
+    private MazeMap mazeMap;
+    private Player player;
+    private final List<Ghost> ghosts = new ArrayList<>();
+    private final float[] probeX = new float[CollisionBenchmark.PROBES];
+    private final float[] probeY = new float[CollisionBenchmark.PROBES];
+    private int next = 0;
+
+    @Setup
+    public void setUp() throws Exception {
+        mazeMap = BenchmarkMazes.mazeMap(maze);
+        player = mazeMap.getPlayer();
+        for(GameObject gameObject : mazeMap.getDynamicObjects()){
+            if(gameObject instanceof Ghost){
+                ghosts.add((Ghost) gameObject);
+            }
+        }
+        CollisionBenchmark.fillProbes(mazeMap, new Random(7), probeX, probeY);
+        BenchmarkMazes.discardConsoleOutput();
+    }
+
+    /**
+     * a dash from a random walkable position in one of the four directions. Includes letting the cooldown pass with player.update
+     */
+    @Benchmark
+    public Player dash() {
+        int i = next++ & (CollisionBenchmark.PROBES - 1);
+        player.updatePosition(probeX[i], probeY[i]);
+        player.setDirection(Direction.values()[i & 3]);
+        player.update(DASH_COOLDOWN);
+        player.dash();
+        return player;
+    }
+
+    /**
+     * one step of all ghosts: their update and their takeAction, like the GameSimulation does it
+     */
+    @Benchmark
+    public int ghostsTakeAction() {
+        for(int i = 0; i < ghosts.size(); i++){
+            Ghost ghost = ghosts.get(i);
+            ghost.update(DELTA);
+            ghost.takeAction(DELTA);
+        }
+        return ghosts.size();
+    }
+}
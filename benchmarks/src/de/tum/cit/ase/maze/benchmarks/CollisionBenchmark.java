@@ -0,0 +1,163 @@
+package de.tum.cit.ase.maze.benchmarks;
+
+import com.badlogic.gdx.math.Rectangle;
+import de.tum.cit.ase.maze.GameObject;
+import de.tum.cit.ase.maze.MazeMap;
+import de.tum.cit.ase.maze.characters.Ghost;
+import de.tum.cit.ase.maze.characters.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collision checks of the MazeMap, called for every move of every character and every frame for the player.
+ * Both are measured at a fixed set of random positions on walkable cells, so the results include
+ * walls, static objects and enemies next to them in the proportions of the maze.
+ *
+ * The enemies* benchmarks check one move of every enemy, like a step of the game, for a growing number of enemies.
+ * They run on generated mazes with the enemy density of the bundled levels, so the time per enemy should stay the same:
+ * enemiesAttemptMove goes through the spatial index of the MazeMap,
+ * enemiesAttemptMoveLinearScan tests every enemy against all dynamic objects like the MazeMap did before the index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+
+    /**
+     * number of probe positions, a power of two
+     */
+    static final int PROBES = 1024;
+
+    /**
+     * how far the enemies try to move
+     */
+    private static final float STEP = 0.05f;
+
+    @State(Scope.Benchmark)
+    public static class Maze {
+
+        @Param({"level-1", "level-2", "level-3", "level-4", "level-5", "synthetic-500", "synthetic-2000"})
+        private String maze;
+
+        private MazeMap mazeMap;
+        private Player player;
+        private final float[] probeX = new float[PROBES];
+        private final float[] probeY = new float[PROBES];
+        private final Rectangle boundingBox = new Rectangle();
+        private final List<GameObject> collisions = new ArrayList<>();
+        private int next = 0;
+
+        @Setup
+        public void setUp() throws Exception {
+            mazeMap = BenchmarkMazes.mazeMap(maze);
+            player = mazeMap.getPlayer();
+            fillProbes(mazeMap, new Random(7), probeX, probeY);
+            BenchmarkMazes.discardConsoleOutput();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Crowd {
+
+        @Param({"10", "100", "1000", "10000"})
+        private int enemies;
+
+        private MazeMap mazeMap;
+        private final List<Ghost> ghosts = new ArrayList<>();
+        private final Rectangle boundingBox = new Rectangle();
+
+        @Setup
+        public void setUp() throws Exception {
+            // generated mazes have an enemy per 400 cells
+            int size = (int) Math.ceil(Math.sqrt(enemies * 400.0));
+            mazeMap = BenchmarkMazes.mazeMap("synthetic-" + size);
+            for(GameObject gameObject : mazeMap.getDynamicObjects()){
+                if(gameObject instanceof Ghost && ghosts.size() < enemies){
+                    ghosts.add((Ghost) gameObject);
+                }
+            }
+            BenchmarkMazes.discardConsoleOutput();
+        }
+    }
+
+    @Benchmark
+    public boolean characterAttemptMoveTo(Maze state) {
+        int i = state.next++ & (PROBES - 1);
+        return state.mazeMap.characterAttemptMoveTo(state.player, state.probeX[i], state.probeY[i]);
+    }
+
+    @Benchmark
+    public List<GameObject> getCollisions(Maze state) {
+        int i = state.next++ & (PROBES - 1);
+        state.boundingBox.set(state.probeX[i], state.probeY[i], 0.7f, 0.9f);
+        return state.mazeMap.getCollisions(state.boundingBox, state.player, state.collisions);
+    }
+
+    /**
+     * every enemy checks a step to the right. The ghosts don't move, so every invocation does the same work
+     */
+    @Benchmark
+    public int enemiesAttemptMove(Crowd crowd) {
+        int moves = 0;
+        for(int i = 0; i < crowd.ghosts.size(); i++){
+            Ghost ghost = crowd.ghosts.get(i);
+            if(crowd.mazeMap.characterAttemptMoveTo(ghost, ghost.getPosition().x + STEP, ghost.getPosition().y)){
+                moves++;
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * the dynamic object part of enemiesAttemptMove without the spatial index: every enemy against every dynamic object
+     */
+    @Benchmark
+    public int enemiesAttemptMoveLinearScan(Crowd crowd) {
+        List<GameObject> dynamicObjects = crowd.mazeMap.getDynamicObjects();
+        int blocked = 0;
+        for(int i = 0; i < crowd.ghosts.size(); i++){
+            Ghost ghost = crowd.ghosts.get(i);
+            Rectangle boundingBox = ghost.getBoundingBoxAtPosition(ghost.getPosition().x + STEP, ghost.getPosition().y, crowd.boundingBox);
+            for(int j = 0; j < dynamicObjects.size(); j++){
+                GameObject dynamicObject = dynamicObjects.get(j);
+                if(dynamicObject != ghost && !dynamicObject.isWalkable() && boundingBox.overlaps(dynamicObject.getBoundingBox())){
+                    blocked++;
+                    break;
+                }
+            }
+        }
+        return blocked;
+    }
+
+    /**
+     * picks random positions in walkable cells, with a random offset so they overlap neighbouring cells as well
+     */
+    static void fillProbes(MazeMap mazeMap, Random random, float[] probeX, float[] probeY){
+        int i = 0;
+        while(i < probeX.length){
+            int x = random.nextInt(mazeMap.getWidth());
+            int y = random.nextInt(mazeMap.getHeight());
+            if(mazeMap.isTileWalkable(x, y)){
+                probeX[i] = x + random.nextFloat() * 0.5f;
+                probeY[i] = y + random.nextFloat() * 0.5f;
+                i++;
+            }
+        }
+    }
+}
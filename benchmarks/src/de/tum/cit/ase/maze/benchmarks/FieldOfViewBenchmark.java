@@ -0,0 +1,61 @@
+package de.tum.cit.ase.maze.benchmarks;
+
+import de.tum.cit.ase.maze.FieldOfView;
+import de.tum.cit.ase.maze.MazeGrid;
+import de.tum.cit.ase.maze.MazeMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The CPU lighting: computing the player's field of view when the player enters another cell.
+ * Compare with LightRaycastBenchmark, the rays of the box2dlights light.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldOfViewBenchmark {
+
+    @Param({"level-1", "level-2", "level-3", "level-4", "level-5", "synthetic-500", "synthetic-2000"})
+    private String maze;
+
+    private FieldOfView fieldOfView;
+    private final float[] originX = new float[CollisionBenchmark.PROBES];
+    private final float[] originY = new float[CollisionBenchmark.PROBES];
+    private int next = 0;
+
+    @Setup
+    public void setUp() throws Exception {
+        MazeGrid grid = BenchmarkMazes.grid(maze);
+        MazeMap mazeMap = new MazeMap(grid, BenchmarkMazes.level(maze));
+        fieldOfView = new FieldOfView(grid, 8);
+        CollisionBenchmark.fillProbes(mazeMap, new Random(7), originX, originY);
+        BenchmarkMazes.discardConsoleOutput();
+    }
+
+    /**
+     * one computation from a random walkable cell, the same radius as the light
+     */
+    @Benchmark
+    public float update() {
+        int i = next++ & (CollisionBenchmark.PROBES - 1);
+        int x = (int)originX[i];
+        int y = (int)originY[i];
+        fieldOfView.update(x, y);
+        return fieldOfView.getBrightness(x + 1, y);
+    }
+}
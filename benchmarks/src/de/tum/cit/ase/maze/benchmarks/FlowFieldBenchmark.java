@@ -0,0 +1,88 @@
+package de.tum.cit.ase.maze.benchmarks;
+
+import de.tum.cit.ase.maze.FlowField;
+import de.tum.cit.ase.maze.MazeMap;
+import de.tum.cit.ase.maze.WalkabilityGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The player's flow field: a search when the player enters another cell, and the lookup an enemy does every step
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlowFieldBenchmark {
+
+    /**
+     * number of target and enemy cells, a power of two
+     */
+    private static final int CELLS = 256;
+
+    @Param({"level-4", "synthetic-1000", "synthetic-2000"})
+    private String maze;
+
+    private FlowField flowField;
+    private final int[] targetX = new int[CELLS];
+    private final int[] targetY = new int[CELLS];
+    private final int[] cellX = new int[CELLS];
+    private final int[] cellY = new int[CELLS];
+    private int next = 0;
+
+    @Setup
+    public void setUp() throws Exception {
+        MazeMap mazeMap = BenchmarkMazes.mazeMap(maze);
+        WalkabilityGrid grid = mazeMap.getWalkabilityGrid();
+        flowField = new FlowField(grid, 16);
+        Random random = new Random(7);
+        PathfindingBenchmark.fillCells(grid, random, targetX, targetY);
+        // enemy cells next to the last target, so the lookups hit reached cells
+        int i = 0;
+        while(i < CELLS){
+            int x = targetX[CELLS - 1] + random.nextInt(17) - 8;
+            int y = targetY[CELLS - 1] + random.nextInt(17) - 8;
+            if(grid.isWalkable(x, y)){
+                cellX[i] = x;
+                cellY[i] = y;
+                i++;
+            }
+        }
+        flowField.setTarget(targetX[CELLS - 1], targetY[CELLS - 1]);
+        BenchmarkMazes.discardConsoleOutput();
+    }
+
+    /**
+     * the player moved to another cell: a new search every time
+     */
+    @Benchmark
+    public long search() {
+        int i = next++ & (CELLS - 1);
+        flowField.setTarget(targetX[i], targetY[i]);
+        return flowField.getSearchCount();
+    }
+
+    /**
+     * an enemy asks for its next step, the player stayed in its cell
+     */
+    @Benchmark
+    public int nextCell() {
+        int i = next++ & (CELLS - 1);
+        flowField.setTarget(targetX[CELLS - 1], targetY[CELLS - 1]);
+        return flowField.getNextCell(cellX[i], cellY[i]);
+    }
+}
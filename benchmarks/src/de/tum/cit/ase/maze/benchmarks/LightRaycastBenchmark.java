@@ -0,0 +1,90 @@
+package de.tum.cit.ase.maze.benchmarks;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.RayCastCallback;
+import com.badlogic.gdx.physics.box2d.World;
+import de.tum.cit.ase.maze.MazeMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The ray casts of a light update: the player's light casts RAYS rays of DISTANCE tiles into the Box2D world
+ * of the walls every frame, like box2dlights' PointLight does. Measured from random positions on walkable cells,
+ * with all wall chunks of the maze resident.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LightRaycastBenchmark {
+
+    /**
+     * rays and distance of the player's light, see PlayerLight
+     */
+    private static final int RAYS = 200;
+    private static final float DISTANCE = 8f;
+
+    @Param({"level-1", "level-2", "level-3", "level-4", "level-5", "synthetic-500"})
+    private String maze;
+
+    private World world;
+    private final float[] originX = new float[CollisionBenchmark.PROBES];
+    private final float[] originY = new float[CollisionBenchmark.PROBES];
+    private final float[] rayX = new float[RAYS];
+    private final float[] rayY = new float[RAYS];
+    private int next = 0;
+
+    private float closestFraction;
+    private final RayCastCallback closestHit = (Fixture fixture, Vector2 point, Vector2 normal, float fraction) -> {
+        closestFraction = Math.min(closestFraction, fraction);
+        return fraction;
+    };
+
+    @Setup
+    public void setUp() throws Exception {
+        MazeMap mazeMap = BenchmarkMazes.mazeMap(maze);
+        mazeMap.getWallChunks().retain(0, 0, mazeMap.getWidth() - 1, mazeMap.getHeight() - 1);
+        world = mazeMap.getWorld();
+        CollisionBenchmark.fillProbes(mazeMap, new Random(7), originX, originY);
+        for(int i = 0; i < RAYS; i++){
+            double angle = 2 * Math.PI * i / RAYS;
+            rayX[i] = DISTANCE * (float)Math.cos(angle);
+            rayY[i] = DISTANCE * (float)Math.sin(angle);
+        }
+        BenchmarkMazes.discardConsoleOutput();
+    }
+
+    /**
+     * all rays of one light update
+     *
+     * @return sum of the distances the rays got, so the work can't be skipped
+     */
+    @Benchmark
+    public float lightUpdate() {
+        int i = next++ & (CollisionBenchmark.PROBES - 1);
+        float x = originX[i];
+        float y = originY[i];
+        float sum = 0f;
+        for(int ray = 0; ray < RAYS; ray++){
+            closestFraction = 1f;
+            world.rayCast(closestHit, x, y, x + rayX[ray], y + rayY[ray]);
+            sum += closestFraction;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,91 @@
+package de.tum.cit.ase.maze.benchmarks;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import de.tum.cit.ase.maze.MazeBinaryFormat;
+import de.tum.cit.ase.maze.MazeGrid;
+import de.tum.cit.ase.maze.MazeRunnerGame;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a maze file from disk with MazeRunnerGame.readMazeFile, like the game does, for the three formats:
+ * "properties" goes through the MazeFileParser and is the reference, "maze" is an uncompressed .maze file
+ * and "maze-rle" a run length encoded one. Both .maze files are memory mapped.
+ *
+ * The files are generated mazes of the given size, written to a temporary folder once per run,
+ * so after the first invocation they come from the page cache and the disk doesn't matter.
+ * The cells of an uncompressed .maze file stay in the mapped file, so load only measures mapping it.
+ * loadAndReadCells also reads every cell once, which is what building the MazeMap does right after loading.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MazeFileBenchmark {
+
+    @Param({"properties", "maze", "maze-rle"})
+    private String format;
+
+    @Param({"100", "500", "1000", "2048", "4096"})
+    private int size;
+
+    private File folder;
+    private FileHandle fileHandle;
+
+    @Setup
+    public void setUp() throws Exception {
+        MazeGrid grid = BenchmarkMazes.grid("synthetic-" + size);
+        folder = Files.createTempDirectory("maze-file-benchmark").toFile();
+        boolean properties = format.equals("properties");
+        File file = new File(folder, "maze-" + size + "." + (properties ? "properties" : MazeBinaryFormat.EXTENSION));
+        try (OutputStream out = new FileOutputStream(file)) {
+            if(properties){
+                out.write(BenchmarkMazes.toProperties(grid));
+            }else{
+                MazeBinaryFormat.write(grid, out, format.equals("maze-rle"));
+            }
+        }
+        fileHandle = Gdx.files.absolute(file.getAbsolutePath());
+    }
+
+    @TearDown
+    public void tearDown() {
+        fileHandle.delete();
+        folder.delete();
+    }
+
+    @Benchmark
+    public MazeGrid load() throws Exception {
+        return MazeRunnerGame.readMazeFile(fileHandle);
+    }
+
+    @Benchmark
+    public int loadAndReadCells() throws Exception {
+        MazeGrid grid = MazeRunnerGame.readMazeFile(fileHandle);
+        int sum = 0;
+        int cellCount = grid.getWidth() * grid.getHeight();
+        for(int i = 0; i < cellCount; i++){
+            sum += grid.get(i);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,92 @@
+package de.tum.cit.ase.maze.benchmarks;
+
+import de.tum.cit.ase.maze.MazeFileParser;
+import de.tum.cit.ase.maze.MazeGrid;
+import de.tum.cit.ase.maze.MazeMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Point;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a maze: parsing the .properties file into a grid and building the MazeMap from the grid,
+ * the two steps of MazeRunnerGame.createMazeMap(readMazeFile(...), level)
+ *
+ * parseSplitHashMap is the way the game read maze files before the MazeFileParser: the file as one String,
+ * split into lines and at '=' and ',', with the cells in a HashMap from Point to Integer.
+ * Run with -prof gc to compare the bytes allocated per load, synthetic-1000 is a maze of 1M cells.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MazeLoadingBenchmark {
+
+    @Param({"level-1", "level-2", "level-3", "level-4", "level-5", "synthetic-500", "synthetic-1000", "synthetic-2000"})
+    private String maze;
+
+    /**
+     * content of the maze as .properties file, parsed from memory so disk speed doesn't matter
+     */
+    private byte[] properties;
+    private MazeGrid grid;
+    private int level;
+
+    @Setup
+    public void setUp() throws Exception {
+        grid = BenchmarkMazes.grid(maze);
+        level = BenchmarkMazes.level(maze);
+        properties = BenchmarkMazes.toProperties(grid);
+        BenchmarkMazes.discardConsoleOutput();
+    }
+
+    @Benchmark
+    public MazeGrid parse() throws Exception {
+        return MazeFileParser.parse(new ByteArrayInputStream(properties));
+    }
+
+    /**
+     * the parsing part of the old MazeRunnerGame.createMazeMap(String[] lines, int level)
+     */
+    @Benchmark
+    public Map<Point, Integer> parseSplitHashMap() {
+        String fileContent = new String(properties, StandardCharsets.ISO_8859_1);
+        String[] lines = fileContent.split("\\r?\\n");
+        Map<Point, Integer> gameObjects = new HashMap<>();
+        for(String line : lines){
+            String[] parts = line.split("=");
+            if(parts.length == 2 && !parts[0].equals("Height") && !parts[0].equals("Width")){
+                String[] coordinates = parts[0].split(",");
+                int x = Integer.parseInt(coordinates[0]);
+                int y = Integer.parseInt(coordinates[1]);
+                int value = Integer.parseInt(parts[1].trim());
+                gameObjects.put(new Point(x, y), value);
+            }
+        }
+        return gameObjects;
+    }
+
+    @Benchmark
+    public MazeMap createMazeMap() {
+        MazeMap mazeMap = new MazeMap(grid, level);
+        // the box2d world lives in native memory, without freeing it the benchmark runs out of it
+        mazeMap.getWorld().dispose();
+        return mazeMap;
+    }
+}
@@ -0,0 +1,85 @@
+package de.tum.cit.ase.maze.benchmarks;
+
+import de.tum.cit.ase.maze.GridPathfinder;
+import de.tum.cit.ase.maze.MazeMap;
+import de.tum.cit.ase.maze.WalkabilityGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Path queries of the GridPathfinder between random walkable cells, in queries per second.
+ * With the ghosts' budget the far queries stop early and return partial paths,
+ * with the unlimited budget every query searches until it finds the goal or runs out of cells.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathfindingBenchmark {
+
+    /**
+     * number of start/goal pairs, a power of two
+     */
+    private static final int QUERIES = 256;
+
+    @Param({"level-4", "synthetic-1000"})
+    private String maze;
+
+    @Param({"512", "2147483647"})
+    private int budget;
+
+    private GridPathfinder pathfinder;
+    private final int[] startX = new int[QUERIES];
+    private final int[] startY = new int[QUERIES];
+    private final int[] goalX = new int[QUERIES];
+    private final int[] goalY = new int[QUERIES];
+    private final int[] path = new int[32];
+    private int next = 0;
+
+    @Setup
+    public void setUp() throws Exception {
+        MazeMap mazeMap = BenchmarkMazes.mazeMap(maze);
+        WalkabilityGrid grid = mazeMap.getWalkabilityGrid();
+        pathfinder = new GridPathfinder(grid);
+        Random random = new Random(7);
+        fillCells(grid, random, startX, startY);
+        fillCells(grid, random, goalX, goalY);
+        BenchmarkMazes.discardConsoleOutput();
+    }
+
+    @Benchmark
+    public int findPath() {
+        int i = next++ & (QUERIES - 1);
+        return pathfinder.findPath(startX[i], startY[i], goalX[i], goalY[i], budget, path);
+    }
+
+    /**
+     * picks random walkable cells
+     */
+    static void fillCells(WalkabilityGrid grid, Random random, int[] cellX, int[] cellY){
+        int i = 0;
+        while(i < cellX.length){
+            int x = random.nextInt(grid.getWidth());
+            int y = random.nextInt(grid.getHeight());
+            if(grid.isWalkable(x, y)){
+                cellX[i] = x;
+                cellY[i] = y;
+                i++;
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package de.tum.cit.ase.maze.benchmarks;
+
+import de.tum.cit.ase.maze.TimerWheel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One frame of many traps that go in and out like TimedSpikes (4s retracted, 2s out), at 60 frames per second.
+ *
+ * wheelFrame runs them on a TimerWheel like the game does: every trap has a timer that toggles it
+ * and schedules itself again. accumulatorFrame is how traps worked before the wheel:
+ * every trap adds the delta of every frame to its own counter and toggles when the counter is full.
+ * idleWheelFrame is a wheel full of timers that aren't due for years, so nothing fires.
+ *
+ * The traps start at random points of their cycle, so about the same number toggles in every frame.
+ * Both versions return the number of toggles so far, they should grow at the same rate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimerWheelBenchmark {
+
+    private static final float FRAME_DURATION = 1f / 60f;
+
+    private static final float RETRACTED_TIME = 4f;
+    private static final float OUT_TIME = 2f;
+
+    /**
+     * about 30 years of game time
+     */
+    private static final float IDLE_DELAY = 1e9f;
+
+    @State(Scope.Benchmark)
+    public static class Spikes {
+
+        @Param({"1000", "100000"})
+        private int traps;
+
+        private TimerWheel wheel;
+        private double time = 0.0;
+
+        /**
+         * state of the accumulator version
+         */
+        private boolean[] retracted;
+        private float[] elapsed;
+
+        private long toggles = 0;
+
+        /**
+         * a trap of the wheel version, toggles and schedules itself again like TimedSpikes
+         */
+        private class Spike {
+            private boolean retracted;
+            private final TimerWheel.Timer toggleTimer = new TimerWheel.Timer(this::toggle);
+
+            private void toggle(){
+                retracted = !retracted;
+                toggles++;
+                wheel.schedule(toggleTimer, retracted ? RETRACTED_TIME : OUT_TIME);
+            }
+        }
+
+        @Setup
+        public void setUp() {
+            wheel = new TimerWheel();
+            retracted = new boolean[traps];
+            elapsed = new float[traps];
+            Random random = new Random(7);
+            for(int i = 0; i < traps; i++){
+                retracted[i] = random.nextBoolean();
+                float duration = retracted[i] ? RETRACTED_TIME : OUT_TIME;
+                elapsed[i] = random.nextFloat() * duration;
+                Spike spike = new Spike();
+                spike.retracted = retracted[i];
+                wheel.schedule(spike.toggleTimer, duration - elapsed[i]);
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class IdleTimers {
+
+        @Param({"1000", "100000"})
+        private int traps;
+
+        private TimerWheel wheel;
+        private double time = 0.0;
+
+        @Setup
+        public void setUp() {
+            wheel = new TimerWheel();
+            for(int i = 0; i < traps; i++){
+                // far more game time than a benchmark run simulates, even at a million frames per second
+                wheel.schedule(new TimerWheel.Timer(() -> {}), IDLE_DELAY);
+            }
+        }
+    }
+
+    @Benchmark
+    public long wheelFrame(Spikes spikes) {
+        spikes.time += FRAME_DURATION;
+        spikes.wheel.advance(spikes.time);
+        return spikes.toggles;
+    }
+
+    @Benchmark
+    public long accumulatorFrame(Spikes spikes) {
+        boolean[] retracted = spikes.retracted;
+        float[] elapsed = spikes.elapsed;
+        for(int i = 0; i < spikes.traps; i++){
+            elapsed[i] += FRAME_DURATION;
+            if(elapsed[i] >= (retracted[i] ? RETRACTED_TIME : OUT_TIME)){
+                retracted[i] = !retracted[i];
+                elapsed[i] = 0f;
+                spikes.toggles++;
+            }
+        }
+        return spikes.toggles;
+    }
+
+    @Benchmark
+    public int idleWheelFrame(IdleTimers idleTimers) {
+        idleTimers.time += FRAME_DURATION;
+        idleTimers.wheel.advance(idleTimers.time);
+        return idleTimers.wheel.size();
+    }
+}
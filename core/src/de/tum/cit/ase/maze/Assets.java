@@ -0,0 +1,316 @@
+package de.tum.cit.ase.maze;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.utils.Array;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Assets is the central registry for textures, texture atlases, sounds and music, backed by libGDX's AssetManager.
+ *
+ * Every file is loaded only once, no matter how many classes ask for it, and all of them get the same instance.
+ * The registry counts how often a file was handed out. Code that is done with an asset calls release(fileName),
+ * and once nobody uses a file anymore it gets unloaded.
+ * Assets held by static fields (textures of tiles, sounds of traps, ...) are never released and live until disposeAll().
+ *
+ * At startup the LoadingScreen queues everything the game needs with queueGameAssets() and lets the AssetManager
+ * decode it in the background while update() is called every frame. Files requested before they finished loading
+ * are loaded right away, so nothing breaks if something was forgotten in the queue, it just isn't preloaded.
+ */
+public class Assets {
+
+    /**
+     * sounds played in the maze, preloaded by queueGameAssets()
+     */
+    private static final String[] GAME_SOUNDS = {
+            "fire_sound_effect.ogg", "spikes_sound.wav", "dash_2.wav", "attack_sound.wav", "ghost_sound_effect.mp3",
+            "ghostbreath.mp3", "key_pickup.mp3", "light_switch.wav", "heart_collect_sound.mp3",
+            "exit_gate_sound_effect.ogg", "stone_door.ogg"
+    };
+
+    /**
+     * sprite sheets, preloaded by queueGameAssets() if the atlas wasn't packed. Same list as atlasSheets in build.gradle
+     */
+    private static final String[] SPRITE_SHEETS = {
+            "basictiles.png", "objects.png", "mobs.png", "character.png", "spikes.png", "things.png",
+            "DashSprite.png", "dropsplash.png", "KeyIcons.png", "light_bulb.png", "audioOn.png", "audioOff.png"
+    };
+
+    /**
+     * how many milliseconds update() may block per call
+     */
+    private static final int UPDATE_BUDGET_MILLIS = 16;
+
+    /**
+     * how many users a loaded file has
+     */
+    private static class Entry {
+        private final long estimatedBytes;
+        private int references;
+
+        private Entry(long estimatedBytes) {
+            this.estimatedBytes = estimatedBytes;
+        }
+    }
+
+    private static AssetManager manager;
+
+    private static final Map<String, Entry> entries = new HashMap<>();
+
+    /**
+     * how often a file was requested that was already loaded, each of these was a separate load before
+     */
+    private static int reusedLoads = 0;
+    private static long reusedBytes = 0;
+
+    /**
+     * time spent loading files synchronously because they weren't preloaded
+     */
+    private static long blockingLoadNanos = 0;
+    private static int blockingLoads = 0;
+
+    private Assets() {
+    }
+
+    /**
+     * @return the AssetManager all files are loaded with
+     */
+    public static AssetManager getManager(){
+        if(manager == null){
+            manager = new AssetManager();
+        }
+        return manager;
+    }
+
+    /**
+     * Queues everything the maze needs (sprite sheets and sounds) for background loading. Call update() until it returns true
+     *
+     * @param extraTextures additional textures to preload before the others, e.g. the background of the first menu
+     */
+    public static void queueGameAssets(String... extraTextures){
+        // the AssetManager loads in queue order, the screen after loading waits for these
+        for(String texture : extraTextures){
+            queue(texture, Texture.class);
+        }
+        if(Gdx.files.internal(Sprites.ATLAS_FILE).exists()){
+            queue(Sprites.ATLAS_FILE, TextureAtlas.class);
+        }else{
+            for(String sheet : SPRITE_SHEETS){
+                queue(sheet, Texture.class);
+            }
+        }
+        for(String sound : GAME_SOUNDS){
+            queue(sound, Sound.class);
+        }
+    }
+
+    /**
+     * queues a file for background loading without handing it out
+     *
+     * @param fileName file name in the assets folder
+     * @param type class of the asset
+     */
+    public static void queue(String fileName, Class<?> type){
+        if(!getManager().contains(fileName, type)){
+            getManager().load(fileName, type);
+        }
+    }
+
+    /**
+     * loads queued files for a few milliseconds. Decoding happens on the AssetManager's thread,
+     * only uploading to the GPU is done here
+     *
+     * @return true if everything queued is loaded
+     */
+    public static boolean update(){
+        return update(UPDATE_BUDGET_MILLIS);
+    }
+
+    /**
+     * loads queued files for at most the given time. The AssetManager waits for files decoded on its thread
+     * until the time is up, with 0 it only picks up the ones that are done
+     *
+     * @param budgetMillis how many milliseconds the call may block
+     * @return true if everything queued is loaded
+     */
+    public static boolean update(int budgetMillis){
+        return getManager().update(budgetMillis);
+    }
+
+    /**
+     * @return loading progress of the queued files between 0 and 1
+     */
+    public static float getProgress(){
+        return getManager().getProgress();
+    }
+
+    /**
+     * Returns the texture of the given file and loads it if it isn't yet. Call release(fileName) when done with it
+     *
+     * @param fileName file name in the assets folder, e.g. "menu_5.jpeg"
+     * @return the shared texture
+     */
+    public static Texture texture(String fileName){
+        return acquire(fileName, Texture.class);
+    }
+
+    /**
+     * Returns the texture atlas of the given file and loads it if it isn't yet. Call release(fileName) when done with it
+     *
+     * @param fileName file name in the assets folder, e.g. "sprites.atlas"
+     * @return the shared atlas
+     */
+    public static TextureAtlas atlas(String fileName){
+        return acquire(fileName, TextureAtlas.class);
+    }
+
+    /**
+     * Returns the sound of the given file and loads it if it isn't yet. Call release(fileName) when done with it
+     *
+     * @param fileName file name in the assets folder, e.g. "spikes_sound.wav"
+     * @return the shared sound
+     */
+    public static Sound sound(String fileName){
+        return acquire(fileName, Sound.class);
+    }
+
+    /**
+     * Returns the music of the given file and opens it if it isn't yet. Call release(fileName) when done with it.
+     * Music is not shared like the other assets: there is one stream per file, whoever plays it plays it for everyone
+     *
+     * @param fileName file name in the assets folder, e.g. "menu_background.mp3"
+     * @return the music stream of the file
+     */
+    public static Music music(String fileName){
+        return acquire(fileName, Music.class);
+    }
+
+    /**
+     * @param fileName file name in the assets folder
+     * @param type class of the asset
+     * @return true if the file is loaded and can be requested without waiting
+     */
+    public static boolean isLoaded(String fileName, Class<?> type){
+        return getManager().isLoaded(fileName, type);
+    }
+
+    private static <T> T acquire(String fileName, Class<T> type){
+        AssetManager manager = getManager();
+        Entry entry = entries.get(fileName);
+        if(entry == null){
+            if(!manager.isLoaded(fileName, type)){
+                // not preloaded, so we have to wait for it
+                long start = System.nanoTime();
+                if(!manager.contains(fileName, type)){
+                    manager.load(fileName, type);
+                }
+                manager.finishLoadingAsset(fileName);
+                blockingLoadNanos += System.nanoTime() - start;
+                blockingLoads++;
+            }
+            entry = new Entry(estimateBytes(manager.get(fileName, type)));
+            entries.put(fileName, entry);
+        }else{
+            reusedLoads++;
+            reusedBytes += entry.estimatedBytes;
+        }
+        entry.references++;
+        return manager.get(fileName, type);
+    }
+
+    /**
+     * gives back one reference to the given file. The asset is unloaded when no references are left
+     *
+     * @param fileName file name the asset was requested with
+     */
+    public static void release(String fileName){
+        Entry entry = entries.get(fileName);
+        if(entry == null){
+            return;
+        }
+        entry.references--;
+        if(entry.references <= 0){
+            entries.remove(fileName);
+            getManager().unload(fileName);
+        }
+    }
+
+    /**
+     * disposes every loaded asset, no matter how many references are left. Only call this when the game shuts down
+     */
+    public static void disposeAll(){
+        entries.clear();
+        if(manager != null){
+            manager.dispose();
+            manager = null;
+        }
+    }
+
+    /**
+     * @param fileName file name the asset was requested with
+     * @return how many users the file currently has, 0 if it isn't loaded
+     */
+    public static int getReferences(String fileName){
+        Entry entry = entries.get(fileName);
+        return entry == null ? 0 : entry.references;
+    }
+
+    /**
+     * @return number of files currently loaded, including preloaded ones nobody requested yet
+     */
+    public static int getLoadedCount(){
+        return manager == null ? 0 : manager.getLoadedAssets();
+    }
+
+    /**
+     * @return estimated GPU memory of all loaded textures in bytes, including preloaded ones nobody requested yet.
+     * The pages of a texture atlas are loaded as textures of their own, so they are counted once.
+     * Textures created outside the AssetManager, like the one of the Skin, aren't included
+     */
+    public static long getTextureBytes(){
+        if(manager == null){
+            return 0;
+        }
+        long bytes = 0;
+        Array<String> fileNames = manager.getAssetNames();
+        for(int i = 0; i < fileNames.size; i++){
+            String fileName = fileNames.get(i);
+            if(manager.getAssetType(fileName) == Texture.class){
+                bytes += estimateBytes(manager.get(fileName, Texture.class));
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * prints how much the registry saved compared to loading every request separately
+     */
+    public static void printStats(){
+        System.out.println(String.format("Assets: %d files loaded, %d loaded blocking in %d ms, %.1f MB texture memory, %d duplicate loads avoided (%.1f MB texture memory saved)",
+                getLoadedCount(), blockingLoads, blockingLoadNanos / 1_000_000, getTextureBytes() / (1024f * 1024f), reusedLoads, reusedBytes / (1024f * 1024f)));
+    }
+
+    /**
+     * RGBA8888 without mipmaps, which is what the textures of the game are uploaded as
+     */
+    private static long estimateBytes(Object asset){
+        if(asset instanceof Texture){
+            Texture texture = (Texture) asset;
+            return (long) texture.getWidth() * texture.getHeight() * 4;
+        }
+        if(asset instanceof TextureAtlas){
+            long bytes = 0;
+            for(Texture texture : ((TextureAtlas) asset).getTextures()){
+                bytes += (long) texture.getWidth() * texture.getHeight() * 4;
+            }
+            return bytes;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,182 @@
+package de.tum.cit.ase.maze;
+
+import de.tum.cit.ase.maze.enums.GameObjectID;
+
+import java.util.Arrays;
+
+/**
+ * FieldOfView finds the cells of the maze that can be seen from a cell, with recursive shadowcasting on the tile grid.
+ * It's the CPU alternative to the box2dlights rays of PlayerLight: walls block the view, everything else doesn't.
+ *
+ * The 8 octants around the origin are scanned row by row outwards. A wall ends the visible part of a row,
+ * the rest of the octant is scanned again in smaller slopes beside it (that's the recursion). Every cell within
+ * the radius is looked at at most once per octant, so a computation costs about radius^2 cells, no matter how big
+ * the maze is. The result only covers the square around the origin and is computed again when the origin
+ * moves to another cell; walls don't change, so nothing else makes it outdated.
+ *
+ * Visible cells get a brightness that falls off linearly to 0 at the radius, like a PointLight.
+ * Based on the description at https://www.roguebasin.com/index.php/FOV_using_recursive_shadowcasting
+ */
+public class FieldOfView {
+
+    // transformations from octant coordinates to the maze, one column per octant
+    private static final int[] MULTIPLIER_XX = {1, 0, 0, -1, -1, 0, 0, 1};
+    private static final int[] MULTIPLIER_XY = {0, 1, -1, 0, 0, -1, 1, 0};
+    private static final int[] MULTIPLIER_YX = {0, 1, 1, 0, 0, -1, -1, 0};
+    private static final int[] MULTIPLIER_YY = {1, 0, 0, 1, -1, 0, 0, -1};
+
+    private final MazeGrid grid;
+    private final int width;
+    private final int height;
+    private final int radius;
+
+    /**
+     * brightness of the cells in the square of side 2 * radius + 1 around the origin
+     */
+    private final float[] brightness;
+    private final int side;
+
+    private int originX = -1;
+    private int originY = -1;
+
+    private long computeCount = 0;
+    private long totalComputeNanos = 0;
+
+    /**
+     * @param grid cells of the maze, walls block the view
+     * @param radius how far can be seen, in tiles
+     */
+    public FieldOfView(MazeGrid grid, int radius){
+        this.grid = grid;
+        this.width = grid.getWidth();
+        this.height = grid.getHeight();
+        this.radius = radius;
+        this.side = 2 * radius + 1;
+        this.brightness = new float[side * side];
+    }
+
+    /**
+     * Moves the origin. Computes the field of view again if it's in another cell than before
+     *
+     * @param x x coordinate of the cell the view is from
+     * @param y y coordinate of the cell the view is from
+     * @return true if it was computed again
+     */
+    public boolean update(int x, int y){
+        if(x == originX && y == originY){
+            return false;
+        }
+        long start = System.nanoTime();
+        originX = x;
+        originY = y;
+        Arrays.fill(brightness, 0f);
+        if(x >= 0 && y >= 0 && x < width && y < height){
+            setVisible(x, y);
+            for(int octant = 0; octant < 8; octant++){
+                castLight(1, 1f, 0f, MULTIPLIER_XX[octant], MULTIPLIER_XY[octant], MULTIPLIER_YX[octant], MULTIPLIER_YY[octant]);
+            }
+        }
+        computeCount++;
+        totalComputeNanos += System.nanoTime() - start;
+        return true;
+    }
+
+    /**
+     * @param x cell x coordinate
+     * @param y cell y coordinate
+     * @return brightness of the cell from 0 (not visible) to 1 (the origin)
+     */
+    public float getBrightness(int x, int y){
+        int localX = x - originX + radius;
+        int localY = y - originY + radius;
+        if(localX < 0 || localY < 0 || localX >= side || localY >= side){
+            return 0f;
+        }
+        return brightness[localY * side + localX];
+    }
+
+    /**
+     * @return how often the field of view was computed
+     */
+    public long getComputeCount() {
+        return computeCount;
+    }
+
+    /**
+     * @return CPU time of all computations in nanoseconds
+     */
+    public long getTotalComputeNanos() {
+        return totalComputeNanos;
+    }
+
+    public int getRadius() {
+        return radius;
+    }
+
+    /**
+     * scans one octant from the row on, between the two slopes. Rows are at distance "row" from the origin
+     * along the octant's main axis, slopes are column / row with 1 at the diagonal and 0 at the axis
+     */
+    private void castLight(int row, float startSlope, float endSlope, int xx, int xy, int yx, int yy){
+        if(startSlope < endSlope){
+            return;
+        }
+        float nextStartSlope = startSlope;
+        for(int distance = row; distance <= radius; distance++){
+            boolean blocked = false;
+            int dy = -distance;
+            for(int dx = -distance; dx <= 0; dx++){
+                // slopes of the left and right edge of the cell
+                float leftSlope = (dx - 0.5f) / (dy + 0.5f);
+                float rightSlope = (dx + 0.5f) / (dy - 0.5f);
+                if(startSlope < rightSlope){
+                    continue;
+                }
+                if(endSlope > leftSlope){
+                    break;
+                }
+                int x = originX + dx * xx + dy * xy;
+                int y = originY + dx * yx + dy * yy;
+                if(dx * dx + dy * dy <= radius * radius){
+                    setVisible(x, y);
+                }
+                boolean opaque = isOpaque(x, y);
+                if(blocked){
+                    if(opaque){
+                        // still behind the same wall
+                        nextStartSlope = rightSlope;
+                    }else{
+                        blocked = false;
+                        startSlope = nextStartSlope;
+                    }
+                }else if(opaque && distance < radius){
+                    // a wall starts, scan the part of the octant before it in the next rows
+                    blocked = true;
+                    castLight(distance + 1, startSlope, leftSlope, xx, xy, yx, yy);
+                    nextStartSlope = rightSlope;
+                }
+            }
+            if(blocked){
+                // the row ended behind a wall, the recursion took care of the rest
+                return;
+            }
+        }
+    }
+
+    private void setVisible(int x, int y){
+        if(x < 0 || y < 0 || x >= width || y >= height){
+            return;
+        }
+        int localX = x - originX;
+        int localY = y - originY;
+        float distance = (float)Math.sqrt(localX * localX + localY * localY);
+        brightness[(localY + radius) * side + localX + radius] = Math.max(0f, 1f - distance / radius);
+    }
+
+    private boolean isOpaque(int x, int y){
+        if(x < 0 || y < 0 || x >= width || y >= height){
+            return true;
+        }
+        return grid.get(x, y) == GameObjectID.WALL.getId();
+    }
+}
@@ -0,0 +1,90 @@
+package de.tum.cit.ase.maze;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * FieldOfViewOverlay darkens the tiles the player can't see, one black tile per cell with an alpha of 1 - brightness.
+ * The brightness comes from a FieldOfView around the player's cell, it's computed again when the player enters
+ * another cell. This is the lighting of LightingMode.FIELD_OF_VIEW, PlayerLight is the one of LightingMode.RAYS.
+ */
+public class FieldOfViewOverlay implements Disposable {
+
+    /**
+     * same reach as the PlayerLight
+     */
+    private static final int RADIUS = 8;
+
+    private final FieldOfView fieldOfView;
+
+    /**
+     * one white pixel, tinted black with the alpha of each tile
+     */
+    private final Texture pixel;
+    private boolean disposed = false;
+
+    /**
+     * @param mazeMap maze map whose walls block the view
+     */
+    public FieldOfViewOverlay(MazeMap mazeMap){
+        this.fieldOfView = new FieldOfView(mazeMap.getGrid(), RADIUS);
+        Pixmap pixmap = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+        pixmap.setColor(Color.WHITE);
+        pixmap.fill();
+        pixel = new Texture(pixmap);
+        pixmap.dispose();
+    }
+
+    /**
+     * Updates the field of view to the center of the player and darkens the visible tiles. Does nothing once disposed
+     *
+     * @param batch sprite batch to draw with, not begun
+     * @param camera camera of the game world
+     * @param x x coordinate the player is drawn at
+     * @param y y coordinate the player is drawn at
+     * @param width width of the player
+     * @param height height of the player
+     * @param minX first visible tile column
+     * @param minY first visible tile row
+     * @param maxX last visible tile column
+     * @param maxY last visible tile row
+     */
+    public void render(SpriteBatch batch, OrthographicCamera camera, float x, float y, float width, float height, int minX, int minY, int maxX, int maxY){
+        if(disposed){
+            return;
+        }
+        fieldOfView.update((int)Math.floor(x + width/2f), (int)Math.floor(y + height/2f));
+
+        batch.setProjectionMatrix(camera.combined);
+        batch.begin();
+        for(int tileY = minY; tileY <= maxY; tileY++){
+            for(int tileX = minX; tileX <= maxX; tileX++){
+                float brightness = fieldOfView.getBrightness(tileX, tileY);
+                if(brightness >= 1f){
+                    continue;
+                }
+                batch.setColor(0f, 0f, 0f, 1f - brightness);
+                batch.draw(pixel, tileX, tileY, 1f, 1f);
+            }
+        }
+        batch.setColor(Color.WHITE);
+        batch.end();
+    }
+
+    public FieldOfView getFieldOfView() {
+        return fieldOfView;
+    }
+
+    @Override
+    public void dispose() {
+        if(disposed){
+            return;
+        }
+        disposed = true;
+        pixel.dispose();
+    }
+}
@@ -0,0 +1,211 @@
+package de.tum.cit.ase.maze;
+
+import java.util.Arrays;
+
+/**
+ * FlowField holds the walking distance from every cell near a target cell to the target, on a WalkabilityGrid.
+ * The MazeMap keeps one with the player's cell as target, all enemies read it instead of each searching a path
+ * to the player: the distance of a cell and the neighbour to step to next are a few array reads.
+ *
+ * The distances are found with a breadth first search over the 4 neighbours of each cell, the same moves characters make.
+ * The search stops at maxDistance steps, cells further away or not reachable count as unreached. So a search costs
+ * at most about 2 * maxDistance^2 cells, independent of the size of the maze.
+ * It only runs again when the target moves to another cell or the walkability grid changed (see invalidate()).
+ *
+ * No cell more than maxDistance steps away can be reached, so the distances are only stored for the square of
+ * side 2 * maxDistance + 1 around the target, not for the whole maze. The arrays are allocated once and reused
+ * with a generation number per search. Not thread safe.
+ */
+public class FlowField {
+
+    /**
+     * distance of cells the search didn't reach
+     */
+    public static final int UNREACHED = Integer.MAX_VALUE;
+
+    private final WalkabilityGrid walkabilityGrid;
+    private final int width;
+    private final int height;
+    private final int maxDistance;
+
+    /**
+     * side of the square around the target the distances are stored for
+     */
+    private final int side;
+
+    /**
+     * per cell of the square: the generation of the search that reached it, and its distance in that search
+     */
+    private final int[] reached;
+    private final int[] distance;
+    private int generation = 0;
+
+    /**
+     * cells of the current search, in the order they were reached
+     */
+    private final int[] queue;
+
+    private int targetX = -1;
+    private int targetY = -1;
+    private boolean valid = false;
+    private long searchCount = 0;
+
+    /**
+     * @param walkabilityGrid cells that can be walked on
+     * @param maxDistance how many steps from the target distances are known
+     */
+    public FlowField(WalkabilityGrid walkabilityGrid, int maxDistance){
+        this.walkabilityGrid = walkabilityGrid;
+        this.width = walkabilityGrid.getWidth();
+        this.height = walkabilityGrid.getHeight();
+        this.maxDistance = maxDistance;
+        this.side = 2 * maxDistance + 1;
+        this.reached = new int[side * side];
+        this.distance = new int[side * side];
+        // the cells within maxDistance steps form a diamond
+        this.queue = new int[2 * maxDistance * (maxDistance + 1) + 1];
+    }
+
+    /**
+     * Moves the target. Searches again if it is in another cell than before or the field was invalidated,
+     * otherwise does nothing
+     *
+     * @param x x coordinate of the target cell
+     * @param y y coordinate of the target cell
+     */
+    public void setTarget(int x, int y){
+        if(valid && x == targetX && y == targetY){
+            return;
+        }
+        targetX = x;
+        targetY = y;
+        valid = true;
+        search();
+    }
+
+    /**
+     * the walkable cells changed, search again the next time the target is set
+     */
+    public void invalidate(){
+        valid = false;
+    }
+
+    /**
+     * @param x cell x coordinate
+     * @param y cell y coordinate
+     * @return steps from the cell to the target, UNREACHED if it's further than maxDistance or can't reach it
+     */
+    public int getDistance(int x, int y){
+        int local = toLocal(x, y);
+        if(local < 0){
+            return UNREACHED;
+        }
+        return reached[local] == generation ? distance[local] : UNREACHED;
+    }
+
+    /**
+     * @param x cell x coordinate
+     * @param y cell y coordinate
+     * @return cell index (y * width + x) of the neighbour one step closer to the target,
+     * -1 if the cell is the target or wasn't reached
+     */
+    public int getNextCell(int x, int y){
+        int current = getDistance(x, y);
+        if(current == UNREACHED || current == 0){
+            return -1;
+        }
+        // every reached cell but the target has a neighbour one step closer
+        if(getDistance(x + 1, y) < current){
+            return y * width + x + 1;
+        }
+        if(getDistance(x - 1, y) < current){
+            return y * width + x - 1;
+        }
+        if(getDistance(x, y + 1) < current){
+            return (y + 1) * width + x;
+        }
+        return (y - 1) * width + x;
+    }
+
+    /**
+     * @return number of searches since the field was created
+     */
+    public long getSearchCount() {
+        return searchCount;
+    }
+
+    public int getTargetX() {
+        return targetX;
+    }
+
+    public int getTargetY() {
+        return targetY;
+    }
+
+    private void search(){
+        searchCount++;
+        generation++;
+        if(generation == Integer.MAX_VALUE){
+            Arrays.fill(reached, 0);
+            generation = 1;
+        }
+        if(!walkabilityGrid.isWalkable(targetX, targetY)){
+            // e.g. the player stands on spikes that just came up, nothing is reached until they move
+            return;
+        }
+        int head = 0;
+        int tail = 0;
+        int target = toLocal(targetX, targetY);
+        reached[target] = generation;
+        distance[target] = 0;
+        queue[tail++] = target;
+        while(head < tail){
+            int local = queue[head++];
+            int cellDistance = distance[local];
+            if(cellDistance == maxDistance){
+                continue;
+            }
+            int x = targetX - maxDistance + local % side;
+            int y = targetY - maxDistance + local / side;
+            tail = visit(x + 1, y, cellDistance + 1, tail);
+            tail = visit(x - 1, y, cellDistance + 1, tail);
+            tail = visit(x, y + 1, cellDistance + 1, tail);
+            tail = visit(x, y - 1, cellDistance + 1, tail);
+        }
+    }
+
+    /**
+     * adds the cell to the queue if it's walkable and not reached yet
+     *
+     * @return the new end of the queue
+     */
+    private int visit(int x, int y, int cellDistance, int tail){
+        if(!walkabilityGrid.isWalkable(x, y)){
+            return tail;
+        }
+        // within maxDistance steps of the target, so always inside the square
+        int local = toLocal(x, y);
+        if(reached[local] == generation){
+            return tail;
+        }
+        reached[local] = generation;
+        distance[local] = cellDistance;
+        queue[tail] = local;
+        return tail + 1;
+    }
+
+    /**
+     * @return index of the cell in the square around the target, -1 if it's outside of the square or the maze
+     */
+    private int toLocal(int x, int y){
+        if(x < 0 || y < 0 || x >= width || y >= height){
+            return -1;
+        }
+        int localX = x - targetX + maxDistance;
+        int localY = y - targetY + maxDistance;
+        if(localX < 0 || localY < 0 || localX >= side || localY >= side){
+            return -1;
+        }
+        return localY * side + localX;
+    }
+}
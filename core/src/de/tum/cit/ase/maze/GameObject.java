@@ -57,7 +57,21 @@ public abstract class GameObject {
     private boolean destroyed = false;
 
     private float health;
-    private float timeSinceDamageTaken;
+
+    /**
+     * game time of the last damage taken, see MazeMap.getTime()
+     */
+    private float lastDamageTime;
+
+    /**
+     * bucket of the mazeMap's SpatialIndex this object is stored in. -1 if it isn't indexed
+     */
+    int spatialBucket = -1;
+
+    /**
+     * true while the mazeMap's UpdateScheduler updates this object
+     */
+    boolean scheduled = false;
 
     /**
      * Constructs a GameObject with the specified parameters.
@@ -80,7 +94,8 @@ public GameObject(MazeMap mazeMap, TextureRegion texture, float width, float hei
         updateBoundingBox();
         this.walkable = walkable;
         this.health = health;
-        timeSinceDamageTaken = 0;
+        // objects are immune to damage right after they are created
+        lastDamageTime = mazeMap.getTime();
 
     }
 
@@ -116,16 +131,27 @@ public Position getPosition() {
     }
 
     /**
-     * can be overriden by subclasses to track elapsed time and react
+     * can be overriden by subclasses to track elapsed time and react.
+     * Only called while the object is active in the mazeMap's UpdateScheduler, see needsUpdate()
      *
-     * @param delta
+     * @param delta elapsed time
      */
     public void update(float delta){
-        timeSinceDamageTaken += delta;
     }
 
     /**
-     *  update GameObject position. also calls updateBoundingBox()
+     * Tells the UpdateScheduler if this object still has to be updated every frame.
+     * Objects that return false are dropped until they are activated again with MazeMap.activate().
+     * Timers should use timestamps of MazeMap.getTime() where possible, so the object doesn't need updates.
+     *
+     * @return false per default, objects with running timers or AI have to override this
+     */
+    public boolean needsUpdate(){
+        return false;
+    }
+
+    /**
+     *  update GameObject position. also calls updateBoundingBox() and keeps the mazeMap's SpatialIndex up to date
      *
      * @param x new x coordinate
      * @param y new y coordinate
@@ -134,6 +160,9 @@ public void updatePosition(float x, float y){
         position.x = x;
         position.y = y;
         updateBoundingBox();
+        if(spatialBucket >= 0){
+            mazeMap.getSpatialIndex().update(this);
+        }
     }
 
     /**
@@ -173,15 +202,36 @@ public void takeAction(float delta) {}
      * @return boundingBox at that position
      */
     public Rectangle getBoundingBoxAtPosition(float x, float y) {
-        return new Rectangle(x, y, width, height);
+        return getBoundingBoxAtPosition(x, y, new Rectangle());
+    }
+
+    /**
+     * writes the bounding box at the specified position into the given rectangle
+     *
+     * same as getBoundingBoxAtPosition(float x, float y) but doesn't allocate, so it can be used in hot paths
+     * like collision checks. subclasses that change the bounding box should override this method.
+     *
+     * @param x coordinate
+     * @param y coordinate
+     * @param boundingBox rectangle the result is written to
+     * @return the given boundingBox
+     */
+    public Rectangle getBoundingBoxAtPosition(float x, float y, Rectangle boundingBox) {
+        return boundingBox.set(x, y, width, height);
     }
 
     public boolean isWalkable() {
         return this.walkable;
     }
 
+    /**
+     * changes if this game object can be walked on and tells the mazeMap, so its walkability grid stays up to date
+     *
+     * @param walkable new walkable state
+     */
     public void setWalkable(boolean walkable) {
         this.walkable = walkable;
+        mazeMap.onWalkableChanged(this);
     }
 
     public boolean isDestroyed() {
@@ -240,9 +290,10 @@ public float getStuckDuration(){
      * @param damageDone how much health is lost
      */
     public void takeDamage(float damageDone) {
-        if(timeSinceDamageTaken > 0.25f){
+        float time = mazeMap.getTime();
+        if(time - lastDamageTime > 0.25f){
             health -= damageDone;
-            timeSinceDamageTaken = 0f;
+            lastDamageTime = time;
             System.out.println(this.getClass().getSimpleName() + "(" + id + ") took " + damageDone + " damage. " + health + " health remaining.");
             if(health <= 0f){
                 destroy();
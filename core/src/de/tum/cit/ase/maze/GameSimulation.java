@@ -0,0 +1,193 @@
+package de.tum.cit.ase.maze;
+
+import de.tum.cit.ase.maze.characters.Character;
+import de.tum.cit.ase.maze.characters.Player;
+import de.tum.cit.ase.maze.enums.Direction;
+import de.tum.cit.ase.maze.enums.PlayerAction;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * GameSimulation runs the game logic of a maze map in fixed time steps, independent of the frame rate.
+ *
+ * The GameScreen hands it the elapsed time of every frame. The time is collected in an accumulator and
+ * simulated in steps of exactly 1 / ticksPerSecond seconds, so movement distances and collisions don't depend
+ * on how long a frame took. What's left in the accumulator tells the renderer how far it is between two steps
+ * (see getAlpha()), characters are drawn at their position interpolated between the last two steps.
+ *
+ * Input is queued: the held direction and one-shot actions are applied at the start of the next step.
+ * Nothing in here uses libGDX's graphics or input, so it can also run headless and faster than real time with step().
+ */
+public class GameSimulation {
+
+    public static final int DEFAULT_TICKS_PER_SECOND = 60;
+
+    /**
+     * more than this much time per frame is dropped, so a long hitch (e.g. dragging the window) doesn't cause
+     * a burst of steps that takes even longer than the hitch
+     */
+    private static final float MAX_FRAME_TIME = 0.25f;
+
+    private final MazeMap mazeMap;
+    private final float stepDuration;
+
+    private float accumulator = 0f;
+    private long stepCount = 0;
+
+    /**
+     * direction the player wants to move in. null if no direction key is held
+     */
+    private Direction moveDirection;
+
+    /**
+     * one-shot actions that were queued since the last step
+     */
+    private final List<PlayerAction> queuedActions = new ArrayList<>();
+
+    /**
+     * game objects the player touches, filled again on every step
+     */
+    private final List<GameObject> playerCollisions = new ArrayList<>();
+
+    /**
+     * Creates a simulation for the given map
+     *
+     * @param mazeMap map to simulate
+     * @param ticksPerSecond simulation steps per second of game time
+     */
+    public GameSimulation(MazeMap mazeMap, int ticksPerSecond){
+        if(ticksPerSecond <= 0){
+            throw new IllegalArgumentException("ticksPerSecond must be positive, was " + ticksPerSecond);
+        }
+        this.mazeMap = mazeMap;
+        this.stepDuration = 1f / ticksPerSecond;
+    }
+
+    /**
+     * Adds the elapsed time of a frame to the accumulator and runs as many steps as fit into it
+     *
+     * @param delta time elapsed since the last frame
+     * @return number of steps that were run
+     */
+    public int advance(float delta){
+        accumulator += Math.min(delta, MAX_FRAME_TIME);
+        int steps = 0;
+        while(accumulator >= stepDuration){
+            step();
+            accumulator -= stepDuration;
+            steps++;
+        }
+        return steps;
+    }
+
+    /**
+     * Runs exactly one step of the simulation
+     */
+    public void step(){
+        Player player = mazeMap.getPlayer();
+
+        // remember where everything was, so the renderer can interpolate towards the new positions
+        player.storePreviousPosition();
+        for(GameObject gameObject : mazeMap.getDynamicObjects()){
+            if(gameObject instanceof Character){
+                ((Character) gameObject).storePreviousPosition();
+            }
+        }
+
+        // timers and active objects
+        mazeMap.update(stepDuration);
+        mazeMap.getCollisions(player.getBoundingBox(), player, playerCollisions);
+        for(int i = 0; i < playerCollisions.size(); i++){
+            player.collision(playerCollisions.get(i));
+        }
+
+        // input
+        for(int i = 0; i < queuedActions.size(); i++){
+            switch(queuedActions.get(i)){
+                case DASH:
+                    player.dash();
+                    break;
+                case ATTACK:
+                    player.attack();
+                    break;
+            }
+        }
+        queuedActions.clear();
+        if(moveDirection != null){
+            player.move(moveDirection, stepDuration);
+        }
+
+        // AI
+        for(var gameObject : mazeMap.getDynamicObjects()){
+            gameObject.takeAction(stepDuration);
+        }
+
+        removeDestroyedObjects();
+        stepCount++;
+    }
+
+    /**
+     * remove objects from mazeMap that got destroyed this step
+     */
+    private void removeDestroyedObjects(){
+
+        // staticObjects
+        mazeMap.getStaticObjects().removeDestroyed();
+
+        List<GameObject> dynamicObjectsToRemove = new LinkedList<>();
+
+        // characters
+        for(var gameObject : mazeMap.getDynamicObjects()){
+            if(gameObject.isDestroyed()){
+                dynamicObjectsToRemove.add(gameObject);
+            }
+        }
+
+        for(var gameObject : dynamicObjectsToRemove){
+            mazeMap.removeDynamicObject(gameObject);
+        }
+    }
+
+    /**
+     * @param direction direction the player moves in every step from now on, null to stop moving
+     */
+    public void setMoveDirection(Direction direction){
+        this.moveDirection = direction;
+    }
+
+    /**
+     * queues an action that's carried out at the start of the next step
+     *
+     * @param action action to carry out
+     */
+    public void queue(PlayerAction action){
+        queuedActions.add(action);
+    }
+
+    /**
+     * @return how far the simulation is between the last step and the next one, 0 to 1. Used to interpolate positions
+     */
+    public float getAlpha(){
+        return accumulator / stepDuration;
+    }
+
+    /**
+     * @return length of a step in seconds
+     */
+    public float getStepDuration() {
+        return stepDuration;
+    }
+
+    /**
+     * @return number of steps since the simulation started
+     */
+    public long getStepCount() {
+        return stepCount;
+    }
+
+    public MazeMap getMazeMap() {
+        return mazeMap;
+    }
+}
@@ -0,0 +1,509 @@
+package de.tum.cit.ase.maze;
+
+import java.util.Arrays;
+
+/**
+ * GridPathfinder finds paths between cells of a WalkabilityGrid with A* and jump point search.
+ *
+ * Moves go to the 8 neighbouring cells, diagonal moves only if both cells next to the corner are walkable,
+ * so a diagonal step can always be walked as two straight steps. Jump point search skips over straight runs of cells
+ * and only puts the cells where the path may turn (jump points) into the open list, which keeps the open list small
+ * in corridors.
+ *
+ * Every query has a budget of cells it may look at. If it runs out, or there is no path, the path leads to the cell
+ * closest to the goal that was reached. The cells a query reached are kept in a hash table, not in arrays over the whole
+ * maze: a query reaches at most budget + 1 cells, so the memory follows the budget and not the size of the maze.
+ * The table is reused: instead of clearing it, each query gets a new generation number and slots of older
+ * generations count as empty. One pathfinder is shared by all enemies of a maze map. Not thread safe.
+ */
+public class GridPathfinder {
+
+    private static final float SQRT2 = (float) Math.sqrt(2);
+
+    private static final int INITIAL_SLOTS = 1024;
+
+    private final WalkabilityGrid walkabilityGrid;
+    private final int width;
+    private final int height;
+
+    /**
+     * cells reached by the current query, an open addressing hash table with linear probing keyed by cell index.
+     * A slot is used if its generation is the current one. Per cell: closed (expanded) or still open,
+     * the cost of the path to it and the cell it was reached from
+     */
+    private int[] slotCell = new int[INITIAL_SLOTS];
+    private int[] slotGeneration = new int[INITIAL_SLOTS];
+    private boolean[] slotClosed = new boolean[INITIAL_SLOTS];
+    private float[] slotCost = new float[INITIAL_SLOTS];
+    private int[] slotParent = new int[INITIAL_SLOTS];
+    private int slotShift = 32 - Integer.numberOfTrailingZeros(INITIAL_SLOTS);
+    private int usedSlots;
+    private int generation = 0;
+
+    /**
+     * open list, a binary heap of cells ordered by estimated path length. a cell can be in it more than once,
+     * outdated entries are skipped when they come up
+     */
+    private int[] heapCells = new int[256];
+    private float[] heapKeys = new float[256];
+    private int heapSize;
+
+    private int goalX;
+    private int goalY;
+    private int budget;
+
+    private boolean lastPathComplete;
+    private long queryCount = 0;
+    private long visitedCellCount = 0;
+
+    /**
+     * @param walkabilityGrid cells that can be walked on
+     */
+    public GridPathfinder(WalkabilityGrid walkabilityGrid){
+        this.walkabilityGrid = walkabilityGrid;
+        this.width = walkabilityGrid.getWidth();
+        this.height = walkabilityGrid.getHeight();
+    }
+
+    /**
+     * Finds a path and writes the cells along it into path, starting with the first cell after the start.
+     * Only the first path.length cells are written if the path is longer, call again when they are walked.
+     *
+     * @param startX x coordinate of the start cell
+     * @param startY y coordinate of the start cell
+     * @param goalX x coordinate of the goal cell
+     * @param goalY y coordinate of the goal cell
+     * @param budget how many cells the search may look at
+     * @param path receives the cell indices (y * width + x) of the path
+     * @return number of cells written to path. 0 if the start is the goal or no cell closer to the goal can be reached
+     */
+    public int findPath(int startX, int startY, int goalX, int goalY, int budget, int[] path){
+        queryCount++;
+        lastPathComplete = false;
+        if(!walkabilityGrid.isWalkable(startX, startY)){
+            return 0;
+        }
+        if(startX == goalX && startY == goalY){
+            lastPathComplete = true;
+            return 0;
+        }
+        startQuery();
+        this.goalX = goalX;
+        this.goalY = goalY;
+        this.budget = budget;
+
+        int start = startY * width + startX;
+        int startSlot = insert(start);
+        slotCost[startSlot] = 0f;
+        slotParent[startSlot] = -1;
+        push(start, heuristic(startX, startY));
+
+        int closest = start;
+        float closestDistance = heuristic(startX, startY);
+
+        while(heapSize > 0 && this.budget > 0){
+            int cell = pop();
+            int slot = find(cell);
+            if(slotClosed[slot]){
+                // outdated entry of a cell that was already expanded
+                continue;
+            }
+            slotClosed[slot] = true;
+            int x = cell % width;
+            int y = cell / width;
+            float distance = heuristic(x, y);
+            if(distance < closestDistance){
+                closest = cell;
+                closestDistance = distance;
+            }
+            if(x == goalX && y == goalY){
+                lastPathComplete = true;
+                break;
+            }
+            expand(cell, slotParent[slot], x, y);
+        }
+        if(!lastPathComplete){
+            // out of budget or no path. cells still in the open list were reached too and may be closer
+            for(int i = 0; i < heapSize; i++){
+                int cell = heapCells[i];
+                float distance = heuristic(cell % width, cell / width);
+                if(distance < closestDistance){
+                    closest = cell;
+                    closestDistance = distance;
+                }
+            }
+        }
+        return writePath(closest, path);
+    }
+
+    /**
+     * @return true if the last path found leads to the goal, false if it only leads closer to it
+     */
+    public boolean isLastPathComplete() {
+        return lastPathComplete;
+    }
+
+    /**
+     * @return number of queries since the pathfinder was created
+     */
+    public long getQueryCount() {
+        return queryCount;
+    }
+
+    /**
+     * @return number of cells all queries looked at, compare to the budget
+     */
+    public long getVisitedCellCount() {
+        return visitedCellCount;
+    }
+
+    /**
+     * @return the number of slots of the hash table, for memory comparisons
+     */
+    public int getSlotCount() {
+        return slotCell.length;
+    }
+
+    private void startQuery(){
+        generation++;
+        if(generation == Integer.MAX_VALUE){
+            // start over with empty slots
+            Arrays.fill(slotGeneration, 0);
+            generation = 1;
+        }
+        usedSlots = 0;
+        heapSize = 0;
+    }
+
+    /**
+     * @return slot of the cell in the current query, -1 if the query didn't reach it yet
+     */
+    private int find(int cell){
+        int mask = slotCell.length - 1;
+        int slot = (cell * 0x9E3779B9) >>> slotShift;
+        while(slotGeneration[slot] == generation){
+            if(slotCell[slot] == cell){
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * adds a cell the query didn't reach yet as open. Can move the other cells to new slots
+     *
+     * @return the slot of the cell
+     */
+    private int insert(int cell){
+        if(2 * (usedSlots + 1) > slotCell.length){
+            grow();
+        }
+        int mask = slotCell.length - 1;
+        int slot = (cell * 0x9E3779B9) >>> slotShift;
+        while(slotGeneration[slot] == generation){
+            slot = (slot + 1) & mask;
+        }
+        slotGeneration[slot] = generation;
+        slotCell[slot] = cell;
+        slotClosed[slot] = false;
+        usedSlots++;
+        return slot;
+    }
+
+    /**
+     * doubles the hash table, only needed for budgets bigger than any before
+     */
+    private void grow(){
+        int[] oldCell = slotCell;
+        int[] oldGeneration = slotGeneration;
+        boolean[] oldClosed = slotClosed;
+        float[] oldCost = slotCost;
+        int[] oldParent = slotParent;
+        int slots = oldCell.length * 2;
+        slotCell = new int[slots];
+        slotGeneration = new int[slots];
+        slotClosed = new boolean[slots];
+        slotCost = new float[slots];
+        slotParent = new int[slots];
+        slotShift--;
+        usedSlots = 0;
+        for(int i = 0; i < oldCell.length; i++){
+            if(oldGeneration[i] == generation){
+                int slot = insert(oldCell[i]);
+                slotClosed[slot] = oldClosed[i];
+                slotCost[slot] = oldCost[i];
+                slotParent[slot] = oldParent[i];
+            }
+        }
+    }
+
+    /**
+     * looks for jump points in the directions worth following from the cell and puts them into the open list
+     */
+    private void expand(int cell, int parentCell, int x, int y){
+        if(parentCell < 0){
+            // the start, all directions
+            for(int dy = -1; dy <= 1; dy++){
+                for(int dx = -1; dx <= 1; dx++){
+                    if((dx != 0 || dy != 0) && canStep(x, y, dx, dy)){
+                        jumpFrom(cell, x, y, dx, dy);
+                    }
+                }
+            }
+            return;
+        }
+        int dx = Integer.signum(x - parentCell % width);
+        int dy = Integer.signum(y - parentCell / width);
+        if(dx != 0 && dy != 0){
+            // diagonal: keep going diagonally and along both of its components
+            boolean walkableX = isWalkable(x + dx, y);
+            boolean walkableY = isWalkable(x, y + dy);
+            if(walkableY){
+                jumpFrom(cell, x, y, 0, dy);
+            }
+            if(walkableX){
+                jumpFrom(cell, x, y, dx, 0);
+            }
+            if(walkableX && walkableY){
+                jumpFrom(cell, x, y, dx, dy);
+            }
+        }else if(dx != 0){
+            // horizontal: keep going, and turn where a wall next to the run ended
+            boolean walkableNext = isWalkable(x + dx, y);
+            boolean walkableUp = isWalkable(x, y + 1);
+            boolean walkableDown = isWalkable(x, y - 1);
+            if(walkableNext){
+                jumpFrom(cell, x, y, dx, 0);
+                if(walkableUp){
+                    jumpFrom(cell, x, y, dx, 1);
+                }
+                if(walkableDown){
+                    jumpFrom(cell, x, y, dx, -1);
+                }
+            }
+            if(walkableUp){
+                jumpFrom(cell, x, y, 0, 1);
+            }
+            if(walkableDown){
+                jumpFrom(cell, x, y, 0, -1);
+            }
+        }else{
+            // vertical, same as horizontal with the axes swapped
+            boolean walkableNext = isWalkable(x, y + dy);
+            boolean walkableRight = isWalkable(x + 1, y);
+            boolean walkableLeft = isWalkable(x - 1, y);
+            if(walkableNext){
+                jumpFrom(cell, x, y, 0, dy);
+                if(walkableRight){
+                    jumpFrom(cell, x, y, 1, dy);
+                }
+                if(walkableLeft){
+                    jumpFrom(cell, x, y, -1, dy);
+                }
+            }
+            if(walkableRight){
+                jumpFrom(cell, x, y, 1, 0);
+            }
+            if(walkableLeft){
+                jumpFrom(cell, x, y, -1, 0);
+            }
+        }
+    }
+
+    /**
+     * jumps from the cell in the direction and opens the jump point it finds, if any
+     */
+    private void jumpFrom(int cell, int x, int y, int dx, int dy){
+        int jumpPoint = (dx != 0 && dy != 0) ? jumpDiagonal(x + dx, y + dy, dx, dy) : jumpStraight(x + dx, y + dy, dx, dy);
+        if(jumpPoint < 0){
+            return;
+        }
+        int jumpSlot = find(jumpPoint);
+        if(jumpSlot >= 0 && slotClosed[jumpSlot]){
+            return;
+        }
+        int jumpX = jumpPoint % width;
+        int jumpY = jumpPoint / width;
+        float newCost = slotCost[find(cell)] + octile(Math.abs(jumpX - x), Math.abs(jumpY - y));
+        if(jumpSlot < 0 || newCost < slotCost[jumpSlot]){
+            if(jumpSlot < 0){
+                jumpSlot = insert(jumpPoint);
+            }
+            slotCost[jumpSlot] = newCost;
+            slotParent[jumpSlot] = cell;
+            push(jumpPoint, newCost + heuristic(jumpX, jumpY));
+        }
+    }
+
+    /**
+     * follows a horizontal or vertical run of cells until it reaches the goal, a wall,
+     * or a cell where a wall next to the run ends (the path might have to turn there)
+     *
+     * @return the jump point or -1
+     */
+    private int jumpStraight(int x, int y, int dx, int dy){
+        while(true){
+            if(!isWalkable(x, y)){
+                return -1;
+            }
+            if(budget <= 0){
+                // out of budget, the last cell is a jump point so the path can still lead towards the goal
+                return (y - dy) * width + (x - dx);
+            }
+            budget--;
+            visitedCellCount++;
+            if(x == goalX && y == goalY){
+                return y * width + x;
+            }
+            if(dx != 0){
+                if((isWalkable(x, y - 1) && !isWalkable(x - dx, y - 1)) || (isWalkable(x, y + 1) && !isWalkable(x - dx, y + 1))){
+                    return y * width + x;
+                }
+            }else{
+                if((isWalkable(x - 1, y) && !isWalkable(x - 1, y - dy)) || (isWalkable(x + 1, y) && !isWalkable(x + 1, y - dy))){
+                    return y * width + x;
+                }
+            }
+            x += dx;
+            y += dy;
+        }
+    }
+
+    /**
+     * follows a diagonal until it reaches the goal, a corner that can't be cut,
+     * or a cell from which one of the straight runs finds a jump point
+     *
+     * @return the jump point or -1
+     */
+    private int jumpDiagonal(int x, int y, int dx, int dy){
+        while(true){
+            if(!isWalkable(x, y)){
+                return -1;
+            }
+            if(budget <= 0){
+                // out of budget, the last cell is a jump point so the path can still lead towards the goal
+                return (y - dy) * width + (x - dx);
+            }
+            budget--;
+            visitedCellCount++;
+            if(x == goalX && y == goalY){
+                return y * width + x;
+            }
+            if(jumpStraight(x + dx, y, dx, 0) >= 0 || jumpStraight(x, y + dy, 0, dy) >= 0){
+                return y * width + x;
+            }
+            if(!canStep(x, y, dx, dy)){
+                return -1;
+            }
+            x += dx;
+            y += dy;
+        }
+    }
+
+    /**
+     * @return true if a step from the cell in the direction is possible. diagonal steps can't cut corners
+     */
+    private boolean canStep(int x, int y, int dx, int dy){
+        if(!isWalkable(x + dx, y + dy)){
+            return false;
+        }
+        return dx == 0 || dy == 0 || (isWalkable(x + dx, y) && isWalkable(x, y + dy));
+    }
+
+    private boolean isWalkable(int x, int y){
+        return walkabilityGrid.isWalkable(x, y);
+    }
+
+    /**
+     * fills path with the cells from the start to the given cell, filling in the cells between jump points
+     */
+    private int writePath(int end, int[] path){
+        // count the cells first, the parents lead backwards from the end
+        int length = 0;
+        int cell = end;
+        int previous;
+        while((previous = slotParent[find(cell)]) >= 0){
+            length += Math.max(Math.abs(cell % width - previous % width), Math.abs(cell / width - previous / width));
+            cell = previous;
+        }
+        if(length == 0){
+            return 0;
+        }
+        // walk backwards again and write the cells that fit, position length - 1 is the end
+        int position = length - 1;
+        cell = end;
+        while((previous = slotParent[find(cell)]) >= 0){
+            int x = cell % width;
+            int y = cell / width;
+            int dx = Integer.signum(previous % width - x);
+            int dy = Integer.signum(previous / width - y);
+            while(x != previous % width || y != previous / width){
+                if(position < path.length){
+                    path[position] = y * width + x;
+                }
+                position--;
+                x += dx;
+                y += dy;
+            }
+            cell = previous;
+        }
+        return Math.min(length, path.length);
+    }
+
+    private float heuristic(int x, int y){
+        return octile(Math.abs(goalX - x), Math.abs(goalY - y));
+    }
+
+    /**
+     * length of the shortest 8 way path over a distance without obstacles
+     */
+    private static float octile(int dx, int dy){
+        return dx < dy ? SQRT2 * dx + (dy - dx) : SQRT2 * dy + (dx - dy);
+    }
+
+    private void push(int cell, float key){
+        if(heapSize == heapCells.length){
+            heapCells = Arrays.copyOf(heapCells, heapSize * 2);
+            heapKeys = Arrays.copyOf(heapKeys, heapSize * 2);
+        }
+        int i = heapSize++;
+        while(i > 0){
+            int parentIndex = (i - 1) >>> 1;
+            if(heapKeys[parentIndex] <= key){
+                break;
+            }
+            heapCells[i] = heapCells[parentIndex];
+            heapKeys[i] = heapKeys[parentIndex];
+            i = parentIndex;
+        }
+        heapCells[i] = cell;
+        heapKeys[i] = key;
+    }
+
+    private int pop(){
+        int result = heapCells[0];
+        heapSize--;
+        int cell = heapCells[heapSize];
+        float key = heapKeys[heapSize];
+        int i = 0;
+        while(true){
+            int child = 2 * i + 1;
+            if(child >= heapSize){
+                break;
+            }
+            if(child + 1 < heapSize && heapKeys[child + 1] < heapKeys[child]){
+                child++;
+            }
+            if(heapKeys[child] >= key){
+                break;
+            }
+            heapCells[i] = heapCells[child];
+            heapKeys[i] = heapKeys[child];
+            i = child;
+        }
+        heapCells[i] = cell;
+        heapKeys[i] = key;
+        return result;
+    }
+}
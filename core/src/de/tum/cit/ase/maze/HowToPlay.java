@@ -5,7 +5,6 @@
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
@@ -22,6 +21,9 @@
  * It provides options to return to the main menu.
  */
 public class HowToPlay implements Screen {
+
+    private static final String BACKGROUND_IMAGE = "How_To_Play.png";
+
     private final MazeRunnerGame game;
 
     /**
@@ -53,7 +55,7 @@ public HowToPlay(MazeRunnerGame game) {
         stage.getViewport().apply();
 
         // Set background image
-        backgroundImage = new Image(new Texture(Gdx.files.internal("How_To_Play.png")));
+        backgroundImage = new Image(Assets.texture(BACKGROUND_IMAGE));
         backgroundImage.setBounds(0, 0, stage.getWidth(), stage.getHeight());
         backgroundImage.setScaling(Scaling.fill);
         stage.addActor(backgroundImage);
@@ -103,6 +105,7 @@ public void resize(int width, int height) {
     public void dispose() {
         // Dispose of the stage when screen is disposed
         stage.dispose();
+        Assets.release(BACKGROUND_IMAGE);
     }
 
     /**
@@ -0,0 +1,173 @@
+package de.tum.cit.ase.maze;
+
+import com.badlogic.gdx.files.FileHandle;
+import de.tum.cit.ase.maze.exceptions.MazeFormatException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * MazeBinaryFormat reads and writes the compact binary maze format (.maze files).
+ *
+ * Layout, all numbers big endian:
+ * <pre>
+ *   int   magic     'M' 'A' 'Z' 'E'
+ *   byte  version   1
+ *   byte  flags     FLAG_RLE if the cells are run length encoded
+ *   int   width
+ *   int   height
+ *   cells           width * height bytes in row order (index y * width + x), -1 for empty cells,
+ *                   or with FLAG_RLE pairs of (run length 1-255 as unsigned byte, cell value)
+ * </pre>
+ * Files on disk are memory mapped, so the operating system pages them in and there is no parsing step.
+ * Uncompressed cells aren't even copied, the MazeGrid reads them straight from the mapped buffer.
+ */
+public class MazeBinaryFormat {
+
+    public static final String EXTENSION = "maze";
+
+    private static final int MAGIC = ('M' << 24) | ('A' << 16) | ('Z' << 8) | 'E';
+    private static final byte VERSION = 1;
+    public static final byte FLAG_RLE = 1;
+
+    private static final int HEADER_SIZE = 4 + 1 + 1 + 4 + 4;
+    private static final int MAX_RUN = 255;
+    private static final int WRITE_CHUNK_SIZE = 8192;
+
+    private MazeBinaryFormat() {
+    }
+
+    /**
+     * Loads a .maze file. Files on the file system are memory mapped, files inside the jar are read into memory
+     *
+     * @param fileHandle the .maze file
+     * @return grid with the game object ids of the maze
+     * @throws IOException if the file can't be read
+     * @throws MazeFormatException if the file isn't a valid .maze file
+     */
+    public static MazeGrid read(FileHandle fileHandle) throws IOException, MazeFormatException {
+        File file = fileHandle.file();
+        if(file.isFile()){
+            return read(file.toPath());
+        }
+        return read(ByteBuffer.wrap(fileHandle.readBytes()));
+    }
+
+    /**
+     * Memory maps a .maze file and loads it
+     *
+     * @param path path of the .maze file
+     * @return grid with the game object ids of the maze
+     * @throws IOException if the file can't be read
+     * @throws MazeFormatException if the file isn't a valid .maze file
+     */
+    public static MazeGrid read(Path path) throws IOException, MazeFormatException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return read(buffer);
+        }
+    }
+
+    /**
+     * Loads a maze from a buffer holding a whole .maze file, starting at its position
+     *
+     * @param buffer content of the .maze file
+     * @return grid with the game object ids of the maze
+     * @throws MazeFormatException if the content isn't a valid .maze file
+     */
+    public static MazeGrid read(ByteBuffer buffer) throws MazeFormatException {
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        if(buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC){
+            throw new MazeFormatException("Not a .maze file");
+        }
+        byte version = buffer.get();
+        if(version != VERSION){
+            throw new MazeFormatException("Unsupported .maze version " + version);
+        }
+        byte flags = buffer.get();
+        int width = buffer.getInt();
+        int height = buffer.getInt();
+        if(width <= 0 || height <= 0 || (long) width * height > Integer.MAX_VALUE - 8){
+            throw new MazeFormatException(String.format("Invalid maze size %dx%d", width, height));
+        }
+
+        int cellCount = width * height;
+        if((flags & FLAG_RLE) == 0){
+            if(buffer.remaining() < cellCount){
+                throw new MazeFormatException("The .maze file is truncated");
+            }
+            // the cells are used right where they are, for a mapped file they stay off the heap
+            ByteBuffer cells = buffer.slice();
+            cells.limit(cellCount);
+            return new MazeGrid(width, height, cells);
+        }
+
+        MazeGrid grid = new MazeGrid(width, height);
+        byte[] cells = grid.getCells().array();
+        int index = 0;
+        while(index < cells.length){
+            if(buffer.remaining() < 2){
+                throw new MazeFormatException("The .maze file is truncated");
+            }
+            int run = buffer.get() & 0xFF;
+            byte value = buffer.get();
+            if(run == 0 || index + run > cells.length){
+                throw new MazeFormatException("Invalid run at cell " + index);
+            }
+            for(int end = index + run; index < end; index++){
+                cells[index] = value;
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Writes a maze grid in the .maze format
+     *
+     * @param grid grid to write
+     * @param out stream to write to, isn't closed
+     * @param rle true to run length encode the cells
+     * @throws IOException if writing fails
+     */
+    public static void write(MazeGrid grid, OutputStream out, boolean rle) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+        header.putInt(MAGIC);
+        header.put(VERSION);
+        header.put(rle ? FLAG_RLE : 0);
+        header.putInt(grid.getWidth());
+        header.putInt(grid.getHeight());
+        out.write(header.array());
+
+        int cellCount = grid.getWidth() * grid.getHeight();
+        byte[] chunk = new byte[WRITE_CHUNK_SIZE];
+        int length = 0;
+        int index = 0;
+        while(index < cellCount){
+            if(length + 2 > chunk.length){
+                out.write(chunk, 0, length);
+                length = 0;
+            }
+            byte value = (byte) grid.get(index);
+            if(!rle){
+                chunk[length++] = value;
+                index++;
+                continue;
+            }
+            int run = 1;
+            while(run < MAX_RUN && index + run < cellCount && grid.get(index + run) == value){
+                run++;
+            }
+            chunk[length++] = (byte) run;
+            chunk[length++] = value;
+            index += run;
+        }
+        out.write(chunk, 0, length);
+    }
+}
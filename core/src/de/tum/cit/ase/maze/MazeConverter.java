@@ -0,0 +1,74 @@
+package de.tum.cit.ase.maze;
+
+import de.tum.cit.ase.maze.exceptions.MazeFormatException;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * MazeConverter converts .properties maze files into the binary .maze format.
+ *
+ * Usage: MazeConverter [--raw] input.properties [output.maze]
+ * The cells are run length encoded unless --raw is given. Without an output file,
+ * the input file name with the .maze extension is used. Also available as the gradle task core:convertMaze.
+ */
+public class MazeConverter {
+
+    private MazeConverter() {
+    }
+
+    public static void main(String[] args) {
+        boolean rle = true;
+        Path input = null;
+        Path output = null;
+        for(String arg : args){
+            if(arg.equals("--raw")){
+                rle = false;
+            }else if(input == null){
+                input = Path.of(arg);
+            }else{
+                output = Path.of(arg);
+            }
+        }
+        if(input == null){
+            System.err.println("Usage: MazeConverter [--raw] input.properties [output.maze]");
+            System.exit(1);
+        }
+        if(output == null){
+            String name = input.getFileName().toString();
+            int dot = name.lastIndexOf('.');
+            output = input.resolveSibling((dot < 0 ? name : name.substring(0, dot)) + "." + MazeBinaryFormat.EXTENSION);
+        }
+
+        try {
+            convert(input, output, rle);
+            System.out.println(String.format("Converted %s (%d bytes) to %s (%d bytes)", input, Files.size(input), output, Files.size(output)));
+        } catch (IOException | MazeFormatException exception) {
+            System.err.println("Error converting maze file: " + exception.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Converts a .properties maze file into a .maze file
+     *
+     * @param input the .properties file
+     * @param output the .maze file, overwritten if it exists
+     * @param rle true to run length encode the cells
+     * @throws IOException if a file can't be read or written
+     * @throws MazeFormatException if the input file is malformed
+     */
+    public static void convert(Path input, Path output, boolean rle) throws IOException, MazeFormatException {
+        MazeGrid grid;
+        try (InputStream in = Files.newInputStream(input)) {
+            grid = MazeFileParser.parse(in);
+        }
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(output))) {
+            MazeBinaryFormat.write(grid, out, rle);
+        }
+    }
+}
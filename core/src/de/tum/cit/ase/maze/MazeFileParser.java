@@ -0,0 +1,179 @@
+package de.tum.cit.ase.maze;
+
+import de.tum.cit.ase.maze.exceptions.MazeFormatException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * MazeFileParser reads maze files in the .properties format (one "x,y=id" line per game object) into a MazeGrid.
+ *
+ * It's a single pass over the raw bytes of the file: numbers are parsed digit by digit, so there are no Strings,
+ * no regular expressions and no boxed coordinates. The parsed cells are collected in a growing int array
+ * until the size of the maze is known, then copied into the grid.
+ * Lines that don't start with a coordinate (like "Width=..." or comments) are skipped.
+ */
+public class MazeFileParser {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int EOF = -1;
+
+    /**
+     * coordinates above this can't be from a real maze and would overflow the grid
+     */
+    private static final int MAX_COORDINATE = 1 << 16;
+
+    /**
+     * biggest maze a file may describe, 8192 x 8192 cells. The grid takes a byte per cell,
+     * and without a limit two big coordinates would overflow its size
+     */
+    private static final long MAX_CELLS = 1L << 26;
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position = 0;
+    private int limit = 0;
+    private int line = 1;
+
+    /**
+     * parsed cells as x, y, id triples
+     */
+    private int[] parsed = new int[3 * 1024];
+    private int parsedCount = 0;
+
+    private MazeFileParser(InputStream in){
+        this.in = in;
+    }
+
+    /**
+     * Parses a maze file. The stream is read until its end but not closed
+     *
+     * @param in stream with the content of the maze file
+     * @return grid with the game object ids of the maze, sized to the biggest coordinates in the file
+     * @throws IOException if reading the stream fails
+     * @throws MazeFormatException if a line has a coordinate but isn't of the form "x,y=id",
+     * or the coordinates describe a maze of more than MAX_CELLS cells
+     */
+    public static MazeGrid parse(InputStream in) throws IOException, MazeFormatException {
+        return new MazeFileParser(in).parse();
+    }
+
+    private MazeGrid parse() throws IOException, MazeFormatException {
+        int maxX = -1;
+        int maxY = -1;
+        while(peek() != EOF){
+            skipSpaces();
+            if(isDigit(peek())){
+                int x = readNumber(MAX_COORDINATE);
+                skipSpaces();
+                expect(',');
+                skipSpaces();
+                int y = readNumber(MAX_COORDINATE);
+                skipSpaces();
+                expect('=');
+                skipSpaces();
+                int id = readNumber(Byte.MAX_VALUE);
+                skipSpaces();
+                if(peek() != '\n' && peek() != '\r' && peek() != EOF){
+                    throw error("unexpected character after the id");
+                }
+                add(x, y, id);
+                maxX = Math.max(maxX, x);
+                maxY = Math.max(maxY, y);
+                if((long) (maxX + 1) * (maxY + 1) > MAX_CELLS){
+                    throw error(String.format("maze of %d x %d cells is bigger than %d cells", maxX + 1, maxY + 1, MAX_CELLS));
+                }
+            }
+            skipLine();
+        }
+
+        if(parsedCount == 0){
+            throw new MazeFormatException("The maze file doesn't contain any game objects");
+        }
+
+        MazeGrid grid = new MazeGrid(maxX + 1, maxY + 1);
+        for(int i = 0; i < parsedCount; i += 3){
+            // later lines overwrite earlier ones for the same cell
+            grid.set(parsed[i], parsed[i + 1], parsed[i + 2]);
+        }
+        return grid;
+    }
+
+    private void add(int x, int y, int id){
+        if(parsedCount + 3 > parsed.length){
+            parsed = Arrays.copyOf(parsed, parsed.length * 2);
+        }
+        parsed[parsedCount++] = x;
+        parsed[parsedCount++] = y;
+        parsed[parsedCount++] = id;
+    }
+
+    private int readNumber(int max) throws IOException, MazeFormatException {
+        if(!isDigit(peek())){
+            throw error("number expected");
+        }
+        int value = 0;
+        while(isDigit(peek())){
+            value = value * 10 + (next() - '0');
+            if(value > max){
+                throw error("number bigger than " + max);
+            }
+        }
+        return value;
+    }
+
+    private void expect(char expected) throws IOException, MazeFormatException {
+        if(peek() != expected){
+            throw error("'" + expected + "' expected");
+        }
+        next();
+    }
+
+    private void skipSpaces() throws IOException {
+        while(peek() == ' ' || peek() == '\t'){
+            next();
+        }
+    }
+
+    /**
+     * skips the rest of the current line including the line break
+     */
+    private void skipLine() throws IOException {
+        int c = peek();
+        while(c != '\n' && c != EOF){
+            next();
+            c = peek();
+        }
+        if(c == '\n'){
+            next();
+            line++;
+        }
+    }
+
+    private int peek() throws IOException {
+        if(position == limit){
+            limit = in.read(buffer, 0, BUFFER_SIZE);
+            position = 0;
+            if(limit <= 0){
+                limit = 0;
+                return EOF;
+            }
+        }
+        return buffer[position] & 0xFF;
+    }
+
+    private int next() throws IOException {
+        int c = peek();
+        position++;
+        return c;
+    }
+
+    private static boolean isDigit(int c){
+        return c >= '0' && c <= '9';
+    }
+
+    private MazeFormatException error(String message){
+        return new MazeFormatException(String.format("Line %d: %s", line, message));
+    }
+}
@@ -0,0 +1,101 @@
+package de.tum.cit.ase.maze;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * MazeGrid holds the content of a maze file: one GameObjectID per cell, stored as a byte.
+ * Cells that aren't listed in the file are EMPTY and become floor tiles in the MazeMap.
+ *
+ * It's what the maze file parser produces and what the MazeMap is built from,
+ * so a map never has to go through boxed keys and values.
+ * The cells live in a ByteBuffer, which is either on the heap or a memory mapped .maze file,
+ * so even huge mazes don't have to be copied onto the heap.
+ */
+public class MazeGrid {
+
+    /**
+     * value of cells without a game object
+     */
+    public static final byte EMPTY = -1;
+
+    private final int width;
+    private final int height;
+
+    /**
+     * cell values, indexed by y * width + x
+     */
+    private final ByteBuffer cells;
+
+    /**
+     * Creates a grid on the heap where every cell is EMPTY
+     *
+     * @param width width in cells
+     * @param height height in cells
+     * @throws IllegalArgumentException if the size isn't positive or the cells don't fit into one array
+     */
+    public MazeGrid(int width, int height){
+        if(width <= 0 || height <= 0 || (long) width * height > Integer.MAX_VALUE - 8){
+            throw new IllegalArgumentException("A grid of " + width + " x " + height + " cells doesn't fit into an array");
+        }
+        this.width = width;
+        this.height = height;
+        byte[] array = new byte[width * height];
+        Arrays.fill(array, EMPTY);
+        this.cells = ByteBuffer.wrap(array);
+    }
+
+    /**
+     * Creates a grid on top of existing cells, e.g. a memory mapped file. The buffer isn't copied
+     *
+     * @param width width in cells
+     * @param height height in cells
+     * @param cells width * height cell values in row order, starting at index 0 of the buffer
+     */
+    public MazeGrid(int width, int height, ByteBuffer cells){
+        this.width = width;
+        this.height = height;
+        this.cells = cells;
+    }
+
+    /**
+     * @param x cell x coordinate
+     * @param y cell y coordinate
+     * @return id of the game object in the cell or EMPTY
+     */
+    public int get(int x, int y){
+        return cells.get(y * width + x);
+    }
+
+    /**
+     * @param index cell index y * width + x
+     * @return id of the game object in the cell or EMPTY
+     */
+    public int get(int index){
+        return cells.get(index);
+    }
+
+    /**
+     * @param x cell x coordinate
+     * @param y cell y coordinate
+     * @param id id of the game object or EMPTY
+     */
+    public void set(int x, int y, int id){
+        cells.put(y * width + x, (byte) id);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return the cells in row order, index y * width + x. Not a copy, use absolute get and put
+     */
+    public ByteBuffer getCells() {
+        return cells;
+    }
+}
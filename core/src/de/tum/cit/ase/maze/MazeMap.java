@@ -16,7 +16,6 @@
 import de.tum.cit.ase.maze.traps.TrapCreator;
 
 
-import java.awt.*;
 import java.util.*;
 import java.util.List;
 
@@ -37,16 +36,34 @@ public class MazeMap {
     private final int width;
 
     /**
-     * 2D representing the tile of the maze map
+     * level of the game, decides the floor tiles
      */
-    private final Tile[][] tiles;
+    private final int level;
 
     /**
-     * Mapping of the static objects like traps and key in the maze map. With their positions
+     * game object ids of all cells as read from the maze file. Together with the level they decide the TileType of each cell
+     */
+    private final MazeGrid grid;
+
+    /**
+     * the only tiles with state. all other cells share the view of their TileType
      */
-    private final Map<Point, GameObject> staticObjects;
+    private final List<Exit> exits;
 
-    //we have Map<Position, GameObject
+    /**
+     * one view per TileType shared by all cells of that type, indexed by ordinal. null for EXIT, exits are in the exits list
+     */
+    private final Tile[] tileViews = new Tile[TileType.values().length];
+
+    /**
+     * box2d bodies of the walls, created chunk by chunk around the player
+     */
+    private final TileChunkStore wallChunks;
+
+    /**
+     * Mapping of the static objects like traps and key in the maze map. With their positions
+     */
+    private final StaticObjectMap staticObjects;
 
     /**
      * List of Enemies (like Ghost)
@@ -58,86 +75,129 @@ public class MazeMap {
      */
     private final Player player;
 
+    /**
+     * grid of buckets over the dynamic objects, so collision queries don't have to check all of them
+     */
+    private final SpatialIndex spatialIndex;
+
+    /**
+     * one bit per cell telling if the cell can be walked on. Used for fast collision checks and by the AI
+     */
+    private final WalkabilityGrid walkabilityGrid;
+
+    /**
+     * paths for the enemies, on the walkability grid
+     */
+    private final GridPathfinder pathfinder;
+
+    /**
+     * walking distances to the player's cell, shared by all enemies
+     */
+    private final FlowField playerFlowField;
+
+    /**
+     * how many steps from the player the flow field reaches. enemies further away don't chase the player anyway
+     */
+    private static final int FLOW_FIELD_DISTANCE = 16;
+
     private final World world;
 
     public static final short WALL_FILTER = 1;
 
+    /**
+     * reused by characterAttemptMoveTo so collision checks don't allocate
+     */
+    private final Rectangle scratchBoundingBox = new Rectangle();
+    private final Rectangle scratchTileBoundingBox = new Rectangle();
+
+    /**
+     * reused result list for spatialIndex queries
+     */
+    private final List<GameObject> nearbyDynamicObjects = new ArrayList<>();
+
+    /**
+     * game clock and the objects that need updates. created first, game objects read the clock in their constructor
+     */
+    private final UpdateScheduler scheduler = new UpdateScheduler();
+
+    /**
+     * sound effects of the game objects, played once per frame by the GameScreen
+     */
+    private final SoundService sounds = new SoundService(this);
+
     /**
      *
-     * @param height height of the maze map
-     * @param width width of the maze map
-     * @param gameObjects map representing of game objects at initialization
+     * @param grid game object ids of all cells as read from the maze file
      * @param level level of the game
      */
-    public MazeMap(int height, int width, Map<Point, Integer> gameObjects, int level){
-        this.height = height;
-        this.width = width;
-        this.tiles = new Tile[height][width];
+    public MazeMap(MazeGrid grid, int level){
+        this.level = level;
+        this.grid = grid;
+        this.exits = new ArrayList<>(1);
+        this.height = grid.getHeight();
+        this.width = grid.getWidth();
         this.dynamicObjects = new ArrayList<>(10);
-        this.staticObjects = new HashMap<>();
+        this.staticObjects = new StaticObjectMap(width, 16);
+        this.spatialIndex = new SpatialIndex(width, height);
+        this.walkabilityGrid = new WalkabilityGrid(width, height);
+        this.pathfinder = new GridPathfinder(walkabilityGrid);
+        this.playerFlowField = new FlowField(walkabilityGrid, FLOW_FIELD_DISTANCE);
         this.world = new World(new Vector2(0,0), false);
-
-        // make walls impenetrable by light
-        // taken from https://stackoverflow.com/questions/18550123/libgdx-make-lights-ignore-bodies
-        PolygonShape groundBox = new PolygonShape();
-        groundBox.setAsBox(0.5f, 0.5f);
-        FixtureDef gridBox = new FixtureDef();
-        gridBox.shape = groundBox;
-        gridBox.density = 1.0f;
-        gridBox.filter.groupIndex = WALL_FILTER;
-        gridBox.filter.categoryBits = WALL_FILTER;
-        gridBox.filter.maskBits = WALL_FILTER;
+        // the box2d bodies of walls are created lazily per chunk
+        this.wallChunks = new TileChunkStore(grid, world);
+        for(TileType type : TileType.values()){
+            if(type != TileType.EXIT){
+                tileViews[type.ordinal()] = TileCreator.createTileView(this, type);
+            }
+        }
 
         Position playerPosition = null;
 
-        for(var gameObject : gameObjects.entrySet()){
-            try {
-                GameObjectID gameObjectID = GameObjectID.ENEMY.getById(gameObject.getValue());
-                Point point = gameObject.getKey();
-                Position position = new Position(point.x, point.y);
-                switch(gameObjectID){
-                    case WALL:
-                        tiles[point.y][point.x] = new Wall(this, position);
-                        BodyDef bodyDef = new BodyDef();
-                        // center of body, not left bottom like in our game
-                        bodyDef.position.set(point.x+0.5f, point.y+0.5f);
-                        bodyDef.fixedRotation = true;
-                        bodyDef.type = BodyDef.BodyType.DynamicBody;
-                        Body body = world.createBody(bodyDef);
-                        body.createFixture(gridBox);
-                        break;
-                    case ENTRYPOINT:
-                        tiles[point.y][point.x] = new EntryPoint(this, position);
-                        // ofset player a bit to center on tile
-                        playerPosition = new Position(position.x+0.125f, position.y);
-                        break;
-                    case EXIT:
-                        tiles[point.y][point.x] = new Exit(this, position);
-                        break;
-                    case TRAP:
-                        staticObjects.put(point, TrapCreator.createTrap(this, position, level));
-                        break;
-                    case ENEMY:
-                        dynamicObjects.add(EnemyCreator.createEnemy(this, position, level));
-                        break;
-                    case KEY:
-                        staticObjects.put(point, new Key(this, position));
-                        break;
-                    case HEALTH:
-                        staticObjects.put(point, new Health(this, position));
-                        break;
-                    case TIMEDSPIKES_1:
-                        staticObjects.put(point, new TimedSpikes(this, position, true));
-                        break;
-                    case TIMEDSPIKES_2:
-                        staticObjects.put(point, new TimedSpikes(this, position, false));
-                        break;
-                    case LIGHTING:
-                        staticObjects.put(point, new Lighting(this, position));
-                        break;
+        for(int y = 0; y < height; y++){
+            for(int x = 0; x < width; x++){
+                int id = grid.get(x, y);
+                if(id == MazeGrid.EMPTY){
+                    continue;
+                }
+                try {
+                    GameObjectID gameObjectID = GameObjectID.ENEMY.getById(id);
+                    Position position = new Position(x, y);
+                    switch(gameObjectID){
+                        case WALL:
+                            // walls are only in the grid, their bodies are created by the TileChunkStore
+                            break;
+                        case EXIT:
+                            exits.add(new Exit(this, position));
+                            break;
+                        case ENTRYPOINT:
+                            // ofset player a bit to center on tile
+                            playerPosition = new Position(position.x+0.125f, position.y);
+                            break;
+                        case TRAP:
+                            staticObjects.put(x, y, TrapCreator.createTrap(this, position, level));
+                            break;
+                        case ENEMY:
+                            addDynamicObject(EnemyCreator.createEnemy(this, position, level));
+                            break;
+                        case KEY:
+                            staticObjects.put(x, y, new Key(this, position));
+                            break;
+                        case HEALTH:
+                            staticObjects.put(x, y, new Health(this, position));
+                            break;
+                        case TIMEDSPIKES_1:
+                            staticObjects.put(x, y, new TimedSpikes(this, position, true));
+                            break;
+                        case TIMEDSPIKES_2:
+                            staticObjects.put(x, y, new TimedSpikes(this, position, false));
+                            break;
+                        case LIGHTING:
+                            staticObjects.put(x, y, new Lighting(this, position));
+                            break;
+                    }
+                } catch (UnknownGameObjectException e) {
+                    throw new RuntimeException(e);
                 }
-            } catch (UnknownGameObjectException e) {
-                throw new RuntimeException(e);
             }
         }
 
@@ -151,14 +211,12 @@ public MazeMap(int height, int width, Map<Point, Integer> gameObjects, int level
             //Let's find a position to add Heart on the Map
             int randomX = (int) (Math.random() * width);
             int randomY = (int) (Math.random() * height);
-            Point alreadyTaken = new Point(randomX, randomY);
-            while (tiles[randomY][randomX] != null || staticObjects.containsKey(alreadyTaken)) {
+            while (!isFreeCell(randomX, randomY)) {
                 randomX = (int) (Math.random() * width);
                 randomY = (int) (Math.random() * height);
-                alreadyTaken = new Point(randomX, randomY);
             }
             Position position2 = new Position(randomX, randomY);
-            staticObjects.put(alreadyTaken, new Health(this, position2));
+            staticObjects.put(randomX, randomY, new Health(this, position2));
         }
 
         //Let's create 1 light on the map
@@ -166,15 +224,13 @@ public MazeMap(int height, int width, Map<Point, Integer> gameObjects, int level
             //Let's find a position to add Heart on the Map
             int randomX = (int) (Math.random() * width);
             int randomY = (int) (Math.random() * height);
-            Point alreadyTaken = new Point(randomX, randomY);
 
-            while (tiles[randomY][randomX] != null || staticObjects.containsKey(alreadyTaken)) {
+            while (!isFreeCell(randomX, randomY)) {
                 randomX = (int) (Math.random() * width);
                 randomY = (int) (Math.random() * height);
-                alreadyTaken = new Point(randomX, randomY);
             }
             Position position2 = new Position(randomX, randomY);
-            staticObjects.put(alreadyTaken, new Lighting(this, position2));
+            staticObjects.put(randomX, randomY, new Lighting(this, position2));
         }
 
         //Let's create 2 timed spikes retracted:true on the map
@@ -182,14 +238,12 @@ public MazeMap(int height, int width, Map<Point, Integer> gameObjects, int level
             //Let's find a position to timed spikes on the Map
             int randomX = (int) (Math.random() * width);
             int randomY = (int) (Math.random() * height);
-            Point alreadyTaken = new Point(randomX, randomY);
-            while (tiles[randomY][randomX] != null || staticObjects.containsKey(alreadyTaken)) {
+            while (!isFreeCell(randomX, randomY)) {
                 randomX = (int) (Math.random() * width);
                 randomY = (int) (Math.random() * height);
-                alreadyTaken = new Point(randomX, randomY);
             }
             Position position2 = new Position(randomX, randomY);
-            staticObjects.put(alreadyTaken, new TimedSpikes(this, position2, true));
+            staticObjects.put(randomX, randomY, new TimedSpikes(this, position2, true));
         }
 
         //Let's create 2 timed spikes retracted:false on the map
@@ -197,24 +251,29 @@ public MazeMap(int height, int width, Map<Point, Integer> gameObjects, int level
             //Let's find a position to add timed spikes on the Map
             int randomX = (int) (Math.random() * width);
             int randomY = (int) (Math.random() * height);
-            Point alreadyTaken = new Point(randomX, randomY);
-            while (tiles[randomY][randomX] != null || staticObjects.containsKey(alreadyTaken)) {
+            while (!isFreeCell(randomX, randomY)) {
                 randomX = (int) (Math.random() * width);
                 randomY = (int) (Math.random() * height);
-                alreadyTaken = new Point(randomX, randomY);
             }
             Position position2 = new Position(randomX, randomY);
-            staticObjects.put(alreadyTaken, new TimedSpikes(this, position2, false));
+            staticObjects.put(randomX, randomY, new TimedSpikes(this, position2, false));
+        }
+
+        // walkability of all cells. spikes keep it up to date via setWalkable
+        for(int y = 0 ; y < height; y++){
+            for(int x = 0 ; x < width; x++){
+                refreshWalkability(x, y);
+            }
         }
 
-        // add walkable tiles
-       for(int y = 0 ; y < height; y++){
-           for(int x = 0 ; x < width; x++){
-               if(tiles[y][x] == null){
-                   tiles[y][x] = TileCreator.createTile(this, new Position(x, y), level);
-               }
-           }
-       }
+        // every object gets one update, the ones that don't need more drop out of the scheduler
+        for(int slot = 0; slot < staticObjects.capacity(); slot++){
+            GameObject gameObject = staticObjects.valueAt(slot);
+            if(gameObject != null){
+                scheduler.activate(gameObject);
+            }
+        }
+        scheduler.activate(player);
     }
 
     /**
@@ -222,6 +281,9 @@ public MazeMap(int height, int width, Map<Point, Integer> gameObjects, int level
      *
      * This can cause collision
      *
+     * Doesn't allocate: the bounding box is written into a scratch rectangle and the touched cells are walked on ints.
+     * Not reentrant, must only be called from the game thread.
+     *
      * @param character the character that's trying to move
      * @param x coordinate
      * @param y coordinate
@@ -232,57 +294,67 @@ public boolean characterAttemptMoveTo(Character character, float x, float y){
             return false;
         }
 
-        Rectangle boundingBox = character.getBoundingBoxAtPosition(x, y);
+        Rectangle boundingBox = character.getBoundingBoxAtPosition(x, y, scratchBoundingBox);
 
-        // create all 2d points the bounding box touches
-        Set<Point> relevantPoints = new HashSet<>();
-        relevantPoints.add(new Point((int)boundingBox.getX(), (int)boundingBox.getY()));
-        relevantPoints.add(new Point((int)(boundingBox.getX() + boundingBox.getWidth()), (int)boundingBox.getY()));
-        relevantPoints.add(new Point((int)boundingBox.getX(), (int)(boundingBox.getY() + boundingBox.getHeight())));
-        relevantPoints.add(new Point((int)(boundingBox.getX() + boundingBox.getWidth()), (int)(boundingBox.getY() + boundingBox.getHeight())));
+        // all cells the bounding box touches. boxes are at most one tile big, so that's the (deduplicated) 4 corners
+        int minCellX = (int)boundingBox.getX();
+        int minCellY = (int)boundingBox.getY();
+        int maxCellX = (int)(boundingBox.getX() + boundingBox.getWidth());
+        int maxCellY = (int)(boundingBox.getY() + boundingBox.getHeight());
 
         // check for tile and static collision
-        for(Point point : relevantPoints){
-            if(point.x < 0 || point.y < 0 || point.x >= width || point.y >= height){
-                // skip if point is out of bounds
-                continue;
-            }
-            // if we overlap with the tile bounding box and it's not walkable prevent move(wall, exit etc.)
-            if(boundingBox.overlaps(tiles[point.y][point.x].getBoundingBox())){
-                // player collides with tile
-                if(character.equals(player)){
-                    player.collision(tiles[point.y][point.x]);
-                }
-                if(!tiles[point.y][point.x].isWalkable()){
-                    return false;
+        for(int cellY = minCellY; cellY <= maxCellY; cellY++){
+            for(int cellX = minCellX; cellX <= maxCellX; cellX++){
+                if(cellX < 0 || cellY < 0 || cellX >= width || cellY >= height){
+                    // skip if point is out of bounds
+                    continue;
                 }
-            }
-            GameObject staticObject = staticObjects.get(point);
-            // if there is a static object saved at that point and the bounding boxes overlap and it's not walkable return false
-            if(staticObject != null && boundingBox.overlaps(staticObject.getBoundingBox())){
-                // if character is the player it touches with staticObject
-                if(character.equals(player)){
-                    player.collision(staticObject);
+                if(walkabilityGrid.isWalkable(cellX, cellY)){
+                    // neither the tile nor a static object can block the move here.
+                    // walkable tiles don't have collision actions, so only the player has to be told about static objects it touches
+                    if(character.equals(player)){
+                        GameObject staticObject = staticObjects.get(cellX, cellY);
+                        if(staticObject != null && boundingBox.overlaps(staticObject.getBoundingBox())){
+                            player.collision(staticObject);
+                        }
+                    }
+                    continue;
                 }
-                if(!staticObject.isWalkable()){
+                // if we overlap with the tile bounding box and it's not walkable prevent move(wall, exit etc.)
+                if(!isTileWalkable(cellX, cellY) && boundingBox.overlaps(getTileBoundingBox(cellX, cellY, scratchTileBoundingBox))){
+                    if(character.equals(player)){
+                        // player collides with tile
+                        player.collision(getTile(cellX, cellY));
+                    }
                     return false;
                 }
+                GameObject staticObject = staticObjects.get(cellX, cellY);
+                // if there is a static object saved at that point and the bounding boxes overlap and it's not walkable return false
+                if(staticObject != null && boundingBox.overlaps(staticObject.getBoundingBox())){
+                    // if character is the player it touches with staticObject
+                    if(character.equals(player)){
+                        player.collision(staticObject);
+                    }
+                    if(!staticObject.isWalkable()){
+                        return false;
+                    }
+                }
             }
         }
 
         // check for dynamic object collision
-        // these are objects that can move themselves and can also be bigger than 1x1. so we always check against all of them
-        for(var dynamicObject : dynamicObjects){
+        // these are objects that can move themselves, so we only check the ones the spatial index finds near the bounding box
+        spatialIndex.query(boundingBox, nearbyDynamicObjects);
+        for(int i = 0; i < nearbyDynamicObjects.size(); i++){
+            GameObject dynamicObject = nearbyDynamicObjects.get(i);
             // ignore overlaps with oneself
             if(!character.equals(dynamicObject)){
-                if(boundingBox.overlaps(dynamicObject.getBoundingBox())){
-                    if(character.equals(player)){
-                        // player touches dynamicObject
-                        player.collision(dynamicObject);
-                    }
-                    if(!dynamicObject.isWalkable()){
-                        return false;
-                    }
+                if(character.equals(player)){
+                    // player touches dynamicObject
+                    player.collision(dynamicObject);
+                }
+                if(!dynamicObject.isWalkable()){
+                    return false;
                 }
             }
         }
@@ -297,51 +369,54 @@ public boolean characterAttemptMoveTo(Character character, float x, float y){
     }
 
     /**
-     * Returns all collisions with a given boundingBox ignoring the given gameObject
+     * Returns all collisions with a given boundingBox ignoring the given gameObject.
+     * The result list is cleared first, so callers can reuse it between checks without allocating.
      *
      * @param boundingBox box that's used to check for collisions
      * @param self a gameObject the boundingBox is attached to. can be provided to ignore self-collision
-     *
+     * @param collisions list the colliding game objects are written to
+     * @return the given result list
      */
-    public List<GameObject> getCollisions(Rectangle boundingBox, GameObject self){
+    public List<GameObject> getCollisions(Rectangle boundingBox, GameObject self, List<GameObject> collisions){
 
-        List<GameObject> collisions = new LinkedList<>();
+        collisions.clear();
 
-        // create all 2d points the bounding box touches
-        Set<Point> relevantPoints = new HashSet<>();
-        relevantPoints.add(new Point((int)boundingBox.getX(), (int)boundingBox.getY()));
-        relevantPoints.add(new Point((int)(boundingBox.getX() + boundingBox.getWidth()), (int)boundingBox.getY()));
-        relevantPoints.add(new Point((int)boundingBox.getX(), (int)(boundingBox.getY() + boundingBox.getHeight())));
-        relevantPoints.add(new Point((int)(boundingBox.getX() + boundingBox.getWidth()), (int)(boundingBox.getY() + boundingBox.getHeight())));
+        // all cells the bounding box touches
+        int minCellX = (int)boundingBox.getX();
+        int minCellY = (int)boundingBox.getY();
+        int maxCellX = (int)(boundingBox.getX() + boundingBox.getWidth());
+        int maxCellY = (int)(boundingBox.getY() + boundingBox.getHeight());
 
         // check for tile and static collision
-        for(Point point : relevantPoints){
-            if(point.x < 0 || point.y < 0 || point.x >= width || point.y >= height){
-                // skip if point is out of bounds
-                continue;
-            }
-            // if we overlap with the tile bounding box and it's not walkable prevent move(wall, exit etc.)
-            if(boundingBox.overlaps(tiles[point.y][point.x].getBoundingBox())){
-                if(!tiles[point.y][point.x].equals(self)){
-                    collisions.add(tiles[point.y][point.x]);
+        for(int cellY = minCellY; cellY <= maxCellY; cellY++){
+            for(int cellX = minCellX; cellX <= maxCellX; cellX++){
+                if(cellX < 0 || cellY < 0 || cellX >= width || cellY >= height){
+                    // skip if point is out of bounds
+                    continue;
                 }
-            }
-            GameObject staticObject = staticObjects.get(point);
-            // if there is a static object saved at that point and the bounding boxes overlap
-            if(staticObject != null && boundingBox.overlaps(staticObject.getBoundingBox())){
-                if(!staticObject.equals(self)){
-                    collisions.add(staticObject);
+                if(boundingBox.overlaps(getTileBoundingBox(cellX, cellY, scratchTileBoundingBox))){
+                    Tile tile = getTile(cellX, cellY);
+                    if(!tile.equals(self)){
+                        collisions.add(tile);
+                    }
+                }
+                GameObject staticObject = staticObjects.get(cellX, cellY);
+                // if there is a static object saved at that point and the bounding boxes overlap
+                if(staticObject != null && boundingBox.overlaps(staticObject.getBoundingBox())){
+                    if(!staticObject.equals(self)){
+                        collisions.add(staticObject);
+                    }
                 }
             }
         }
 
         // check for dynamic object collision
-        // these are objects that can move themselves and can also be bigger than 1x1. so we always check against all of them
-        for(var dynamicObject : dynamicObjects){
-            if(boundingBox.overlaps(dynamicObject.getBoundingBox())){
-                if(!dynamicObject.equals(self)){
-                    collisions.add(dynamicObject);
-                }
+        // only the ones the spatial index finds near the bounding box
+        spatialIndex.query(boundingBox, nearbyDynamicObjects);
+        for(int i = 0; i < nearbyDynamicObjects.size(); i++){
+            GameObject dynamicObject = nearbyDynamicObjects.get(i);
+            if(!dynamicObject.equals(self)){
+                collisions.add(dynamicObject);
             }
         }
         if(boundingBox.overlaps(player.getBoundingBox())){
@@ -364,15 +439,143 @@ public int getWidth() {
         return width;
     }
 
+    /**
+     * Returns the tile of the given cell. Only tiles with state (the exit) are objects of their own, all other cells
+     * share one view per TileType. A view isn't placed on the cell: use getTileBoundingBox for the cell's bounding box
+     * and getTileType(x, y).getTexture(x, y) for its texture
+     *
+     * @param x cell x coordinate
+     * @param y cell y coordinate
+     * @return the tile, never null for cells inside the maze
+     */
     public Tile getTile(int x, int y){
-        return tiles[y][x];
+        TileType type = getTileType(x, y);
+        if(type != TileType.EXIT){
+            return tileViews[type.ordinal()];
+        }
+        for(int i = 0; i < exits.size(); i++){
+            Exit exit = exits.get(i);
+            if((int) exit.getPosition().x == x && (int) exit.getPosition().y == y){
+                return exit;
+            }
+        }
+        return null;
     }
 
+    /**
+     * @param x cell x coordinate
+     * @param y cell y coordinate
+     * @return the type of the tile in the given cell
+     */
+    public TileType getTileType(int x, int y){
+        return TileCreator.getTileType(grid.get(x, y), level);
+    }
+
+    /**
+     * Advances the game clock and updates all objects that are active in the scheduler
+     *
+     * @param delta elapsed time
+     */
+    public void update(float delta){
+        scheduler.update(delta);
+    }
+
+    /**
+     * Schedules the gameObject for updates every frame until its needsUpdate() returns false
+     *
+     * @param gameObject object that needs ticking, e.g. a trap that was triggered
+     */
+    public void activate(GameObject gameObject){
+        scheduler.activate(gameObject);
+    }
+
+    /**
+     * @return seconds of game time since the map was created. Use it for timestamps instead of adding up deltas
+     */
+    public float getTime(){
+        return scheduler.getTime();
+    }
+
+    /**
+     * @return timers running on the game clock, e.g. for traps that change their state after some time
+     */
+    public TimerWheel getTimers(){
+        return scheduler.getTimers();
+    }
+
+    public SoundService getSounds() {
+        return sounds;
+    }
+
+    public UpdateScheduler getScheduler() {
+        return scheduler;
+    }
+
+    public TileChunkStore getWallChunks() {
+        return wallChunks;
+    }
+
+    public MazeGrid getGrid() {
+        return grid;
+    }
+
+    /**
+     * Tells if the tile in the given cell can be walked on, without creating the tile
+     *
+     * @param x cell x coordinate
+     * @param y cell y coordinate
+     * @return false for walls and the exit, true otherwise
+     */
+    public boolean isTileWalkable(int x, int y){
+        return getTileType(x, y).isWalkable();
+    }
+
+    /**
+     * Calculates the bounding box the tile in the given cell has, without creating the tile. Same as Tile.updateBoundingBox
+     *
+     * @param x cell x coordinate
+     * @param y cell y coordinate
+     * @param boundingBox rectangle the bounding box is written to
+     * @return the given rectangle
+     */
+    public Rectangle getTileBoundingBox(int x, int y, Rectangle boundingBox){
+        return boundingBox.set(x+0.05f, y+0.05f, 0.9f, 0.9f);
+    }
+
+    /**
+     * @param x cell x coordinate
+     * @param y cell y coordinate
+     * @return true if the cell has neither a special tile (wall, entry point, exit) nor a static object
+     */
+    private boolean isFreeCell(int x, int y){
+        int id = grid.get(x, y);
+        boolean specialTile = id == GameObjectID.WALL.getId() || id == GameObjectID.ENTRYPOINT.getId() || id == GameObjectID.EXIT.getId();
+        return !specialTile && !staticObjects.contains(x, y);
+    }
+
+    /**
+     * Returns the static object in the cell at the given coordinates
+     *
+     * @param x coordinate
+     * @param y coordinate
+     * @return static object in that cell or null
+     */
     public GameObject getStaticObject(float x, float y){
-        return staticObjects.get(new Position(x, y));
+        return getStaticObject((int)Math.floor(x), (int)Math.floor(y));
+    }
+
+    /**
+     * Returns the static object in the given cell. O(1) and doesn't allocate
+     *
+     * @param x cell x coordinate
+     * @param y cell y coordinate
+     * @return static object in that cell or null
+     */
+    public GameObject getStaticObject(int x, int y){
+        return staticObjects.get(x, y);
     }
 
-    public Map<Point, GameObject> getStaticObjects() {
+    public StaticObjectMap getStaticObjects() {
         return staticObjects;
     }
 
@@ -380,6 +583,74 @@ public List<GameObject> getDynamicObjects() {
         return dynamicObjects;
     }
 
+    /**
+     * adds a dynamic object to the map, the spatial index and the scheduler
+     *
+     * @param gameObject object that can move by itself, e.g. an Enemy
+     */
+    public void addDynamicObject(GameObject gameObject){
+        dynamicObjects.add(gameObject);
+        spatialIndex.add(gameObject);
+        scheduler.activate(gameObject);
+    }
+
+    /**
+     * removes a dynamic object from the map and the spatial index
+     *
+     * @param gameObject object to remove
+     */
+    public void removeDynamicObject(GameObject gameObject){
+        dynamicObjects.remove(gameObject);
+        spatialIndex.remove(gameObject);
+    }
+
+    /**
+     * recalculates if the given cell is walkable from its tile and static object
+     *
+     * @param x cell x coordinate
+     * @param y cell y coordinate
+     */
+    public void refreshWalkability(int x, int y){
+        GameObject staticObject = staticObjects.get(x, y);
+        boolean walkable = isTileWalkable(x, y) && (staticObject == null || staticObject.isWalkable());
+        walkabilityGrid.setWalkable(x, y, walkable);
+        playerFlowField.invalidate();
+    }
+
+    /**
+     * called by GameObject.setWalkable so the walkability grid follows objects like spikes
+     *
+     * @param gameObject object that changed its walkable state
+     */
+    public void onWalkableChanged(GameObject gameObject){
+        int x = (int)Math.floor(gameObject.getPosition().x);
+        int y = (int)Math.floor(gameObject.getPosition().y);
+        if(x >= 0 && y >= 0 && x < width && y < height){
+            refreshWalkability(x, y);
+        }
+    }
+
+    public WalkabilityGrid getWalkabilityGrid() {
+        return walkabilityGrid;
+    }
+
+    public GridPathfinder getPathfinder() {
+        return pathfinder;
+    }
+
+    /**
+     * @return the flow field to the player, moved to the cell the center of the player is in now
+     */
+    public FlowField getPlayerFlowField() {
+        Position position = player.getPosition();
+        playerFlowField.setTarget((int)Math.floor(position.x + player.getWidth() / 2f), (int)Math.floor(position.y + player.getHeight() / 2f));
+        return playerFlowField;
+    }
+
+    public SpatialIndex getSpatialIndex() {
+        return spatialIndex;
+    }
+
     public World getWorld() {
         return world;
     }
@@ -5,9 +5,7 @@
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
-import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.files.FileHandle;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
@@ -15,14 +13,14 @@
 import com.badlogic.gdx.utils.Array;
 import de.tum.cit.ase.maze.Screens.*;
 import de.tum.cit.ase.maze.enums.GameState;
+import de.tum.cit.ase.maze.exceptions.MazeFormatException;
 import games.spooky.gdx.nativefilechooser.NativeFileChooser; //File choosing related library
 import games.spooky.gdx.nativefilechooser.NativeFileChooserCallback; //File choosing related library
 import games.spooky.gdx.nativefilechooser.NativeFileChooserConfiguration; //File choosing related library
 import games.spooky.gdx.nativefilechooser.NativeFileChooserIntent; //File choosing related library
-import java.awt.*;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * The MazeRunnerGame class represents the core of the Maze Runner game.
@@ -51,7 +49,12 @@ public class MazeRunnerGame extends Game {
     private TextureRegion hearts; //Deniz 06.01
     private NativeFileChooser fileChooser; //Burak Test
 
-    private Music backgroundMusic;
+    public static final String MENU_MUSIC = "menu_background.mp3";
+    public static final String VICTORY_MUSIC = "victory_background.mp3";
+    public static final String GAME_OVER_MUSIC = "game_over_bad_chest.wav";
+    public static final String CUSTOM_LEVEL_MUSIC = "maze_background_custom.ogg";
+
+    private MusicManager musicManager;
     private float backgroundMusicVolume = 0.50f;
     private float mazeMapMusicVolume = 0.10f;
     private boolean backgroundMusicMuted = false;
@@ -60,6 +63,12 @@ public class MazeRunnerGame extends Game {
 
     private boolean[] levelPlayed = new boolean[6];
 
+    /**
+     * when create() was called, to measure how long it takes until the menu can be used
+     */
+    private long startupNanos;
+    private boolean firstInteractiveFrameLogged = false;
+
     /**
      * Constructor for MazeRunnerGame.
      *
@@ -68,7 +77,6 @@ public class MazeRunnerGame extends Game {
     public MazeRunnerGame(NativeFileChooser fileChooser) {
         super();
         this.fileChooser = fileChooser; //Burak Test 27.12 18.00
-        this.backgroundMusic = null;
         Arrays.fill(levelPlayed, false);
         levelPlayed[0] = true;
     }
@@ -91,12 +99,9 @@ public void handleInput(float delta){
     public void loadLevel(int level){
         try {
             FileHandle fileHandle = Gdx.files.internal(String.format("maps/level-%d.properties", level));
-            // Do something with fileHandle
-            String fileContent = fileHandle.readString();
-            String[] lines = fileContent.split("\\r?\\n");
             currentLevel = level;
 
-            createMazeMap(lines, level);
+            createMazeMap(readMazeFile(fileHandle), level);
             goToGame();
 
         }catch (Exception exception) {
@@ -108,69 +113,68 @@ public void loadLevel(int level){
     /**
      *
      * Starts or changes the background music based on the current game state and level.
-     * If the game is in a running or paused state, it loads level-specific background music.
-     * If in the menu state, it loads menu background music. In victory or game-over states, it loads
+     * If the game is in a running or paused state, it plays level-specific background music.
+     * If in the menu state, it plays menu background music. In victory or game-over states, it plays
      * corresponding background music. The method also handles muting and setting volume levels.
+     * The MusicManager opens the track in the background if it wasn't preloaded and cross-fades to it.
      *
      */
     public void startBackgroundMusic() {
-        stopBackgroundMusic(); // Stop any existing background music
-
         // Check the current game state to determine the appropriate background music
         if (gameState == GameState.RUNNING || gameState == GameState.PAUSED) {
-            // Load game background music based on the current level
-            if (currentLevel == 1) {
-                backgroundMusic = Gdx.audio.newMusic(Gdx.files.internal("maze_background_1.ogg"));
-            }else if (currentLevel == 2) {
-                backgroundMusic = Gdx.audio.newMusic(Gdx.files.internal("maze_background_2.wav"));
-            }else if (currentLevel == 3) {
-                backgroundMusic = Gdx.audio.newMusic(Gdx.files.internal("maze_background_custom.ogg"));
-            }else if (currentLevel == 4) {
-                backgroundMusic = Gdx.audio.newMusic(Gdx.files.internal("maze_background_4.mp3"));
-            }else if(currentLevel == 5) {
-                backgroundMusic = Gdx.audio.newMusic(Gdx.files.internal("maze_background_5.mp3"));
-            }else{
-                backgroundMusic = Gdx.audio.newMusic(Gdx.files.internal("maze_background_custom.ogg"));
-            }
-            backgroundMusic.setLooping(true);
-        }else if(gameState == GameState.MENU){  // Load menu background music
-            // in menu
-            backgroundMusic = Gdx.audio.newMusic(Gdx.files.internal("menu_background.mp3")); // Replace with your menu background music file
-            backgroundMusic.setLooping(true);
+            // level music, the menus in between keep it open so it doesn't have to be opened again
+            musicManager.play(getLevelMusicFile(currentLevel), true, mazeMapMusicVolume);
+            // one of these comes next
+            musicManager.preload(VICTORY_MUSIC);
+            musicManager.preload(GAME_OVER_MUSIC);
+        }else if(gameState == GameState.MENU){  // Play menu background music
+            musicManager.play(MENU_MUSIC, true, backgroundMusicVolume);
         }else if(gameState == GameState.VICTORY){
-            // Load victory background music
-            backgroundMusic = Gdx.audio.newMusic(Gdx.files.internal("victory_background.mp3"));
-            backgroundMusic.setLooping(false);
+            musicManager.play(VICTORY_MUSIC, false, backgroundMusicVolume);
+            musicManager.preload(getLevelMusicFile(getNextLevel()));
         }else if(gameState == GameState.GAME_OVER){
-            // Load game over background music
-            backgroundMusic = Gdx.audio.newMusic(Gdx.files.internal("game_over_bad_chest.wav"));
-            backgroundMusic.setLooping(false);
+            musicManager.play(GAME_OVER_MUSIC, false, backgroundMusicVolume);
+        }
+    }
+
+    /**
+     * @param level level of the maze map, 100 for custom maps
+     * @return file name of the background music of the level. Levels without their own track use the one of custom maps
+     */
+    public static String getLevelMusicFile(int level){
+        String fileName;
+        if (level == 1) {
+            fileName = "maze_background_1.ogg";
+        }else if (level == 2) {
+            fileName = "maze_background_2.wav";
+        }else if (level == 4) {
+            fileName = "maze_background_4.mp3";
+        }else if(level == 5) {
+            fileName = "maze_background_5.mp3";
+        }else{
+            return CUSTOM_LEVEL_MUSIC;
         }
+        return Gdx.files.internal(fileName).exists() ? fileName : CUSTOM_LEVEL_MUSIC;
+    }
 
-        //  Set volume and play background music
-        if (backgroundMusic != null) {
-            if(backgroundMusicMuted){
-                backgroundMusic.setVolume(0);
-            }else{
-                if (gameState == GameState.RUNNING || gameState == GameState.PAUSED) {
-                    backgroundMusic.setVolume(mazeMapMusicVolume);
-                }else{
-                    backgroundMusic.setVolume(backgroundMusicVolume);
-                }
+    /**
+     * @return the lowest level that wasn't won yet, 6 if all were
+     */
+    public int getNextLevel(){
+        int nextLevel = 6;
+        for (int i = 0; i < levelPlayed.length; i++) {
+            if (!levelPlayed[i]) {
+                nextLevel = Math.min(nextLevel, i);
             }
-            backgroundMusic.play();
         }
+        return nextLevel;
     }
 
     /**
-     * Stops the currently playing background music and disposes of its resources.
+     * Fades out the currently playing background music. The track stays open in the MusicManager.
      */
     public void stopBackgroundMusic() {
-        if (backgroundMusic != null) {
-            backgroundMusic.stop();
-            backgroundMusic.dispose();
-            backgroundMusic = null;
-        }
+        musicManager.stop();
     }
 
     /**
@@ -179,23 +183,9 @@ public void stopBackgroundMusic() {
      * Also, prints a message indicating the current mute state.
      */
     public void muteBackgroundMusic() {
-        if (backgroundMusic != null) {
-            if(backgroundMusicMuted){
-                // Unmute the background music
-                if (gameState == GameState.RUNNING || gameState == GameState.PAUSED) {
-                    backgroundMusic.setVolume(mazeMapMusicVolume);
-                }else{
-                    backgroundMusic.setVolume(backgroundMusicVolume);
-                }
-                backgroundMusicMuted = false;
-                System.out.println("music unmuted");
-            }else {
-                // Mute the background music
-                backgroundMusic.setVolume(0);
-                backgroundMusicMuted = true;
-                System.out.println("music muted");
-            }
-        }
+        backgroundMusicMuted = !backgroundMusicMuted;
+        musicManager.setMuted(backgroundMusicMuted);
+        System.out.println(backgroundMusicMuted ? "music muted" : "music unmuted");
     }
 
     /**
@@ -205,16 +195,17 @@ public void loadCustomMap(){
         var fileChooserConfig = new NativeFileChooserConfiguration();
         fileChooserConfig.title = "Pick a maze file"; // Title of the window that will be opened
         fileChooserConfig.intent = NativeFileChooserIntent.OPEN; // We want to open a file
-        fileChooserConfig.nameFilter = (file, name) -> name.endsWith("properties"); // Only accept .properties files
+        fileChooserConfig.nameFilter = (file, name) -> name.endsWith("properties") || name.endsWith("." + MazeBinaryFormat.EXTENSION); // Only accept .properties and .maze files
         fileChooserConfig.directory = Gdx.files.absolute(System.getProperty("user.home")); // Open at the user's home directory
         fileChooser.chooseFile(fileChooserConfig, new NativeFileChooserCallback() {
             @Override
             public void onFileChosen(FileHandle fileHandle) {
-                // Do something with fileHandle
-                String fileContent = fileHandle.readString();
-                String[] lines = fileContent.split("\\r?\\n");
-                createMazeMap(lines, 100);
-                goToGame();
+                try {
+                    createMazeMap(readMazeFile(fileHandle), 100);
+                    goToGame();
+                }catch (Exception exception) {
+                    System.err.println("Error reading maze file: " + exception.getMessage());
+                }
             }
 
             @Override
@@ -230,34 +221,30 @@ public void onError(Exception exception) {
     }
 
     /**
-     * Creates maze map
+     * Reads a maze file into a grid. Binary .maze files are memory mapped, .properties files go through the streaming parser
+     *
+     * @param fileHandle the .maze or .properties maze file
+     * @return the game object ids of all cells
+     * @throws IOException if the file can't be read
+     * @throws MazeFormatException if the content of the file is malformed
      */
-    public void createMazeMap(String[] lines, int level){
-
-        Map<Point, Integer> gameObjects = new HashMap<>();
-        int height = 0; //understand height of maze map
-        int width = 0; //understand width of maze map
-
-        for (String line : lines) {
-            String[] parts = line.split("="); // Split the line based on the '=' character
-            if (parts.length == 2) {
-                if(!parts[0].equals("Height")&& !parts[0].equals("Width")){
-                    String[] coordinates = parts[0].split(","); // Split the coordinates by comma
-                    int x = Integer.parseInt(coordinates[0]);
-                    int y = Integer.parseInt(coordinates[1]);
-                    int value = Integer.parseInt(parts[1].trim());
-                    gameObjects.put(new Point(x, y), value);
-                    if (x > width) {width = x;}
-                    if (y > height) {height = y;}
-                }
-                else{
-                    System.out.println("To Be Decided :)");
-                }
-            }
+    public static MazeGrid readMazeFile(FileHandle fileHandle) throws IOException, MazeFormatException {
+        if(fileHandle.extension().equals(MazeBinaryFormat.EXTENSION)){
+            return MazeBinaryFormat.read(fileHandle);
         }
+        try (InputStream in = fileHandle.read()) {
+            return MazeFileParser.parse(in);
+        }
+    }
 
-        this.mazeMap = new MazeMap(height+1, width+1, gameObjects, level);
-
+    /**
+     * Creates maze map
+     *
+     * @param grid game object ids of all cells
+     * @param level level of the maze map
+     */
+    public void createMazeMap(MazeGrid grid, int level){
+        this.mazeMap = new MazeMap(grid, level);
     }
 
     /**
@@ -265,18 +252,55 @@ public void createMazeMap(String[] lines, int level){
      */
     @Override
     public void create() {
+        startupNanos = System.nanoTime();
         spriteBatch = new SpriteBatch(); // Create SpriteBatch
 
         skin = new Skin(Gdx.files.internal("craft/craftacular-ui.json")); // Load UI skin
-        Texture basictiles = new Texture(Gdx.files.internal("basictiles.png")); // Load basictiles from assets
-        Texture objects = new Texture(Gdx.files.internal("objects.png")); //Load objects from assets
+
+        // the menu music is opened while the loading screen is shown
+        musicManager = new MusicManager();
+        musicManager.preload(MENU_MUSIC);
+
+        // load sprite sheets and sounds in the background, onAssetsLoaded continues once the menu's files are ready
+        currentScreen = new LoadingScreen(this, MenuScreen.BACKGROUND_IMAGE);
+        this.setScreen(currentScreen);
+    }
+
+    /**
+     * Called by the LoadingScreen when the files of the menu are loaded and goes to the menu.
+     * The sprite sheets and sounds of the maze keep loading in the background while the menu is shown.
+     */
+    public void onAssetsLoaded() {
+        goToMenu(); // Navigate to the menu screen
+    }
+
+    /**
+     * Sets up the HUD textures. Called when the first level starts, so the menu doesn't wait for the sprite sheets
+     */
+    private void loadHudTextures() {
+        TextureRegion basictiles = Sprites.sheet("basictiles.png"); // Load basictiles from assets
+        TextureRegion objects = Sprites.sheet("objects.png"); //Load objects from assets
 
         this.hearts = new TextureRegion(objects, 16*1, 16*5, 16, 16 ); //create heart texture
         this.HUD = new TextureRegion(basictiles, 16*6, 16*2, 16, 16 ); // create HUD texture
 
         this.loadLivesAnimation();
+    }
 
-        goToMenu(); // Navigate to the menu screen
+    /**
+     * Renders the current screen and logs how long the startup took once the menu shows up for the first time.
+     */
+    @Override
+    public void render() {
+        // the files the LoadingScreen didn't wait for, only picks up what the loading thread finished
+        Assets.update(0);
+        super.render();
+        musicManager.update(Gdx.graphics.getDeltaTime());
+        if(!firstInteractiveFrameLogged && currentScreen instanceof MenuScreen){
+            firstInteractiveFrameLogged = true;
+            System.out.println(String.format("Time to first interactive frame: %d ms", (System.nanoTime() - startupNanos) / 1_000_000));
+            Assets.printStats();
+        }
     }
 
      /**
@@ -290,6 +314,8 @@ public void goToLoadMap() {
         this.gameState = GameState.MENU;
         currentScreen = new LoadMapMenuScreen(this);
         this.setScreen(currentScreen);
+        // the level that's likely picked, so its music can start right away
+        musicManager.preload(getLevelMusicFile(getNextLevel()));
     }
 
     /**
@@ -356,6 +382,9 @@ public void goToGame(){
             currentScreen.dispose();
         }
         this.gameState = GameState.RUNNING;
+        if(HUD == null){
+            loadHudTextures();
+        }
         currentScreen = new GameScreen(this, mazeMap);
         this.setScreen(currentScreen);
         startBackgroundMusic();
@@ -365,7 +394,7 @@ public void goToGame(){
      * Loads heart animation for lives
      */
     public void loadLivesAnimation(){ // Deniz 30.12
-        Texture walkSheet = new Texture(Gdx.files.internal("objects.png"));
+        TextureRegion walkSheet = Sprites.sheet("objects.png");
         Array<TextureRegion> hearts = new Array<>(TextureRegion.class); // Deniz 30.12
 
         int frameWidth = 16;
@@ -387,8 +416,9 @@ public void dispose() {
         getScreen().hide(); // Hide the current screen
         getScreen().dispose(); // Dispose the current screen
         spriteBatch.dispose(); // Dispose the spriteBatch
-        backgroundMusic.dispose(); //Dispose the backgroundMusic
+        musicManager.dispose(); //Close the music tracks
         skin.dispose(); // Dispose the skin
+        Assets.disposeAll(); // Dispose the shared textures and sounds
     }
 
     // Getter methods //TODO Clean at the end
@@ -441,6 +471,10 @@ public void setLevelPlayed(boolean[] levelPlayed) {
     public int getCurrentLevel() {
         return currentLevel;
     }
+    public MusicManager getMusicManager() {
+        return musicManager;
+    }
+
     public boolean isBackgroundMusicMuted() {
         return backgroundMusicMuted;
     }
@@ -0,0 +1,322 @@
+package de.tum.cit.ase.maze;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.utils.Disposable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MusicManager plays the background music of the game and changes tracks without stopping the render thread.
+ *
+ * Opening a track (reading the file header and setting up the decoder) is what made screen changes hitch.
+ * Tracks are opened by the AssetManager of Assets on its loading thread instead: preload() queues a track,
+ * and play() starts it once it's open. Until then the previous track keeps playing, so there is no gap.
+ * The MazeRunnerGame preloads the tracks that are likely to come next, e.g. the level's track in the level menu.
+ *
+ * Open tracks are kept in a small cache, so going back and forth between the menu and the maze doesn't open them again.
+ * When there are more than capacity tracks, the least recently used one is closed (unless it is playing).
+ * When the track changes, the old one fades out while the new one fades in over fadeDuration seconds.
+ * The volumes are set in update(), which has to be called every frame.
+ */
+public class MusicManager implements Disposable {
+
+    public static final int DEFAULT_CAPACITY = 4;
+
+    public static final float DEFAULT_FADE_DURATION = 1f;
+
+    private final int capacity;
+    private float fadeDuration = DEFAULT_FADE_DURATION;
+
+    /**
+     * open tracks by file name, the least recently used one first
+     */
+    private final LinkedHashMap<String, Music> tracks = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * tracks queued in the AssetManager that aren't open yet
+     */
+    private final List<String> loading = new ArrayList<>();
+
+    private String currentFile;
+    private Music current;
+    private float volume;
+
+    /**
+     * the previous track while it fades out
+     */
+    private Music fading;
+    private float fadingStartVolume;
+    private float currentStartVolume;
+    private float fadeTime;
+
+    /**
+     * the track play() was called with, while it's still being opened
+     */
+    private String pendingFile;
+    private boolean pendingLooping;
+    private float pendingVolume;
+    private long pendingSince;
+
+    private boolean muted = false;
+
+    // metrics
+    private int openedCount = 0;
+    private int closedCount = 0;
+    private int preloadedPlays = 0;
+    private int waitedPlays = 0;
+    private long totalWaitNanos = 0;
+
+    public MusicManager(){
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity how many tracks are kept open, at least the two of a cross-fade
+     */
+    public MusicManager(int capacity){
+        this.capacity = Math.max(2, capacity);
+    }
+
+    /**
+     * Starts opening the track in the background, so play() can start it right away later.
+     * Does nothing if it's open or being opened already
+     *
+     * @param fileName file name in the assets folder
+     */
+    public void preload(String fileName){
+        if(fileName == null || tracks.containsKey(fileName) || loading.contains(fileName)){
+            return;
+        }
+        if(!Gdx.files.internal(fileName).exists()){
+            System.err.println("Music file not found: " + fileName);
+            return;
+        }
+        Assets.queue(fileName, Music.class);
+        loading.add(fileName);
+    }
+
+    /**
+     * Changes the background music to the track. If it isn't open yet it is started as soon as it is,
+     * the current track keeps playing until then. Nothing changes if the track is already playing
+     *
+     * @param fileName file name in the assets folder
+     * @param looping true to play the track in a loop
+     * @param volume volume of the track between 0 and 1
+     */
+    public void play(String fileName, boolean looping, float volume){
+        if(fileName.equals(currentFile) && pendingFile == null && current.isPlaying()){
+            current.setLooping(looping);
+            setVolume(volume);
+            return;
+        }
+        pendingFile = fileName;
+        pendingLooping = looping;
+        pendingVolume = volume;
+        pendingSince = System.nanoTime();
+        if(tracks.containsKey(fileName)){
+            preloadedPlays++;
+            start();
+        }else{
+            preload(fileName);
+            if(!loading.contains(fileName)){
+                // the file doesn't exist
+                pendingFile = null;
+            }
+        }
+    }
+
+    /**
+     * Fades out the current track
+     */
+    public void stop(){
+        pendingFile = null;
+        if(current == null){
+            return;
+        }
+        if(fading != null){
+            fading.stop();
+        }
+        fading = current;
+        fadingStartVolume = current.getVolume();
+        currentFile = null;
+        current = null;
+        fadeTime = 0f;
+    }
+
+    /**
+     * Opens queued tracks, starts the track play() was waiting for and moves the cross-fade on. Call once per frame
+     *
+     * @param delta time since the last frame
+     */
+    public void update(float delta){
+        if(!loading.isEmpty()){
+            // the files are opened on the AssetManager's thread, this only picks up the finished ones without waiting
+            Assets.update(0);
+            Iterator<String> iterator = loading.iterator();
+            while(iterator.hasNext()){
+                String fileName = iterator.next();
+                if(Assets.isLoaded(fileName, Music.class)){
+                    iterator.remove();
+                    tracks.put(fileName, Assets.music(fileName));
+                    openedCount++;
+                }
+            }
+            if(pendingFile != null && tracks.containsKey(pendingFile)){
+                waitedPlays++;
+                totalWaitNanos += System.nanoTime() - pendingSince;
+                start();
+            }
+            closeUnused();
+        }
+
+        if(fading == null && (current == null || fadeTime >= fadeDuration)){
+            return;
+        }
+        fadeTime += delta;
+        float progress = Math.min(1f, fadeTime / fadeDuration);
+        if(current != null){
+            current.setVolume(currentStartVolume + (getTargetVolume() - currentStartVolume) * progress);
+        }
+        if(fading != null){
+            fading.setVolume(fadingStartVolume * (1f - progress));
+            if(progress == 1f){
+                fading.stop();
+                fading = null;
+            }
+        }
+    }
+
+    /**
+     * makes the pending track the current one, the current one fades out
+     */
+    private void start(){
+        Music next = tracks.get(pendingFile);
+        if(next == fading){
+            // back to the track that is fading out, it fades in again from where it is
+            fading = null;
+            currentStartVolume = next.getVolume();
+        }else{
+            if(fading != null){
+                // a third track during a cross-fade, the oldest one is cut off
+                fading.stop();
+            }
+            currentStartVolume = 0f;
+        }
+        if(current != null && current != next){
+            fading = current;
+            fadingStartVolume = current.getVolume();
+        }
+        current = next;
+        currentFile = pendingFile;
+        volume = pendingVolume;
+        pendingFile = null;
+        fadeTime = 0f;
+
+        current.setLooping(pendingLooping);
+        current.setVolume(currentStartVolume);
+        if(!current.isPlaying()){
+            current.play();
+        }
+        closeUnused();
+    }
+
+    /**
+     * closes the least recently used tracks that aren't playing until there are at most capacity open
+     */
+    private void closeUnused(){
+        Iterator<Map.Entry<String, Music>> iterator = tracks.entrySet().iterator();
+        while(tracks.size() > capacity && iterator.hasNext()){
+            Map.Entry<String, Music> entry = iterator.next();
+            Music music = entry.getValue();
+            if(music == current || music == fading){
+                continue;
+            }
+            iterator.remove();
+            music.stop();
+            Assets.release(entry.getKey());
+            closedCount++;
+        }
+    }
+
+    /**
+     * @param volume volume of the current track between 0 and 1
+     */
+    public void setVolume(float volume){
+        this.volume = volume;
+        if(current != null && fading == null){
+            current.setVolume(getTargetVolume());
+        }
+    }
+
+    /**
+     * @param muted true to silence the music, it keeps playing
+     */
+    public void setMuted(boolean muted){
+        this.muted = muted;
+        if(fading != null && muted){
+            fading.setVolume(0f);
+            fadingStartVolume = 0f;
+        }
+        if(current != null){
+            current.setVolume(getTargetVolume());
+            currentStartVolume = getTargetVolume();
+        }
+    }
+
+    public boolean isMuted() {
+        return muted;
+    }
+
+    /**
+     * @param fadeDuration how long a cross-fade takes, in seconds
+     */
+    public void setFadeDuration(float fadeDuration){
+        this.fadeDuration = Math.max(0.001f, fadeDuration);
+    }
+
+    /**
+     * @return file name of the track that plays (or fades in) now, null if there is none
+     */
+    public String getCurrentFile() {
+        return currentFile;
+    }
+
+    /**
+     * @return number of tracks that are open
+     */
+    public int getOpenCount() {
+        return tracks.size();
+    }
+
+    /**
+     * @return human readable counters of the cache
+     */
+    public String getStats(){
+        return String.format("Music: %d tracks opened, %d closed, %d open now, %d of %d track changes preloaded, %.1f ms waited for the others on average",
+                openedCount, closedCount, tracks.size(), preloadedPlays, preloadedPlays + waitedPlays,
+                waitedPlays == 0 ? 0f : totalWaitNanos / 1_000_000f / waitedPlays);
+    }
+
+    private float getTargetVolume(){
+        return muted ? 0f : volume;
+    }
+
+    @Override
+    public void dispose() {
+        for(Map.Entry<String, Music> entry : tracks.entrySet()){
+            entry.getValue().stop();
+            Assets.release(entry.getKey());
+        }
+        tracks.clear();
+        loading.clear();
+        current = null;
+        fading = null;
+        currentFile = null;
+        pendingFile = null;
+    }
+}
@@ -0,0 +1,264 @@
+package de.tum.cit.ase.maze;
+
+import box2dLight.PointLight;
+import box2dLight.RayHandler;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.utils.Disposable;
+import de.tum.cit.ase.maze.characters.Player;
+
+/**
+ * PlayerLight is the light around the player that the walls of the maze cast shadows in.
+ *
+ * It belongs to the GameScreen and not to the Player: box2dlights needs a GL context for its frame buffer
+ * and shaders, and the simulation has to run without one (see HeadlessLauncher).
+ * The light reads the walls from the box2d world of the maze map and follows the position the player is drawn at.
+ *
+ * Casting the rays against the walls is the expensive part of a light update. With caching on (the default) the light
+ * is a static box2dlights light: its rays and mesh are kept and drawn again every frame, they are only cast again
+ * when the player moved at least moveThreshold, at most updatesPerSecond times a second, or when wall chunks were created.
+ * If the ray casts take longer than the budget the light uses fewer rays, and more again once there's time.
+ * With caching off the rays are cast every frame, like before.
+ */
+public class PlayerLight implements Disposable {
+
+    public static final float DEFAULT_UPDATES_PER_SECOND = 30f;
+
+    /**
+     * one pixel of a 16 pixel tile
+     */
+    public static final float DEFAULT_MOVE_THRESHOLD = 1f / 16f;
+
+    public static final long DEFAULT_BUDGET_NANOS = 1_000_000;
+
+    private static final float DISTANCE = 8;
+
+    /**
+     * ray counts the light switches between, the first one is what it starts with.
+     * box2dlights sizes the meshes for the rays the light was created with, so there can't be more than that
+     */
+    private static final int[] RAY_COUNTS = {200, 128, 64};
+
+    /**
+     * ray casts after a change of the ray count before the next change, so it doesn't switch back and forth
+     */
+    private static final int UPDATES_BETWEEN_RAY_CHANGES = 30;
+
+    private final MazeMap mazeMap;
+    private final RayHandler rayHandler;
+    private final AdaptivePointLight pointLight;
+
+    private boolean caching = true;
+    private float updateInterval = 1f / DEFAULT_UPDATES_PER_SECOND;
+    private float moveThreshold = DEFAULT_MOVE_THRESHOLD;
+    private long budgetNanos = DEFAULT_BUDGET_NANOS;
+
+    private float timeSinceUpdate = Float.MAX_VALUE;
+    private int materializedChunks;
+    private int rayCountIndex = 0;
+    private int updatesSinceRayChange = 0;
+
+    // metrics
+    private long updateCount = 0;
+    private long cachedCount = 0;
+    private long totalUpdateNanos = 0;
+    private float averageUpdateNanos = 0f;
+    private long rayCountChanges = 0;
+
+    /**
+     * Creates the light at the player's position
+     *
+     * @param mazeMap maze map whose walls block the light
+     */
+    public PlayerLight(MazeMap mazeMap){
+        this.mazeMap = mazeMap;
+        Player player = mazeMap.getPlayer();
+        Position position = player.getPosition();
+        // https://stackoverflow.com/questions/31388986/libgdx-and-box2dlights-too-bright-colors-grayed-out
+        RayHandler.useDiffuseLight(true);
+        // add lighting taken from:
+        // https://stackoverflow.com/questions/45973258/libgdx-basic-2d-lighting-dont-know-what-to-do
+        rayHandler = new RayHandler(mazeMap.getWorld());
+        pointLight = new AdaptivePointLight(rayHandler, RAY_COUNTS[0], new Color(1, 1f, 1f, 1f), DISTANCE, position.x + player.getWidth()/2f, position.y + player.getHeight()/2f);
+        pointLight.setContactFilter(MazeMap.WALL_FILTER, MazeMap.WALL_FILTER, MazeMap.WALL_FILTER);
+        pointLight.setSoftnessLength(1.5f);
+        pointLight.setStaticLight(caching);
+        materializedChunks = mazeMap.getWallChunks().getMaterializedChunkCount();
+    }
+
+    /**
+     * Moves the light to the center of the player and draws the lit area over everything drawn so far.
+     * With caching on the rays are only cast again if they're out of date, see the class comment
+     *
+     * @param camera camera of the game world
+     * @param x x coordinate the player is drawn at
+     * @param y y coordinate the player is drawn at
+     * @param width width of the player
+     * @param height height of the player
+     * @param delta time since the last frame
+     */
+    public void render(OrthographicCamera camera, float x, float y, float width, float height, float delta){
+        float lightX = x + width/2f;
+        float lightY = y + height/2f;
+        timeSinceUpdate += delta;
+
+        boolean cast = !caching;
+        if(caching){
+            boolean moved = Math.abs(lightX - pointLight.getX()) >= moveThreshold || Math.abs(lightY - pointLight.getY()) >= moveThreshold;
+            int chunks = mazeMap.getWallChunks().getMaterializedChunkCount();
+            if((moved && timeSinceUpdate >= updateInterval) || chunks != materializedChunks){
+                // the walls near the light may have changed, a static light only casts its rays when it's dirty
+                materializedChunks = chunks;
+                cast = true;
+                pointLight.setPosition(lightX, lightY);
+                pointLight.setDirty();
+            }
+        }else{
+            pointLight.setPosition(lightX, lightY);
+        }
+
+        rayHandler.setCombinedMatrix(camera);
+        long start = System.nanoTime();
+        rayHandler.update();
+        long nanos = System.nanoTime() - start;
+        rayHandler.render();
+
+        if(cast){
+            timeSinceUpdate = 0f;
+            recordUpdate(nanos);
+        }else{
+            cachedCount++;
+        }
+    }
+
+    /**
+     * keeps the metrics and adapts the number of rays to the budget
+     */
+    private void recordUpdate(long nanos){
+        updateCount++;
+        totalUpdateNanos += nanos;
+        // average over roughly the last 16 updates
+        averageUpdateNanos = updateCount == 1 ? nanos : averageUpdateNanos + (nanos - averageUpdateNanos) / 16f;
+
+        updatesSinceRayChange++;
+        if(updatesSinceRayChange < UPDATES_BETWEEN_RAY_CHANGES){
+            return;
+        }
+        if(averageUpdateNanos > budgetNanos && rayCountIndex < RAY_COUNTS.length - 1){
+            setRayCountIndex(rayCountIndex + 1);
+        }else if(averageUpdateNanos < budgetNanos / 3f && rayCountIndex > 0){
+            // fewer rays are cheaper, only go back up if the bigger count will fit in the budget too
+            setRayCountIndex(rayCountIndex - 1);
+        }
+    }
+
+    private void setRayCountIndex(int index){
+        rayCountIndex = index;
+        updatesSinceRayChange = 0;
+        pointLight.changeRayCount(RAY_COUNTS[index], DISTANCE);
+        rayCountChanges++;
+    }
+
+    /**
+     * @param caching true to reuse the rays while they're up to date, false to cast them every frame
+     */
+    public void setCaching(boolean caching){
+        this.caching = caching;
+        pointLight.setStaticLight(caching);
+    }
+
+    public boolean isCaching() {
+        return caching;
+    }
+
+    /**
+     * @param updatesPerSecond how often the rays are cast at most while the player moves, with caching on
+     */
+    public void setUpdatesPerSecond(float updatesPerSecond){
+        this.updateInterval = 1f / updatesPerSecond;
+    }
+
+    /**
+     * @param moveThreshold how far the player has to move before the rays are cast again, with caching on
+     */
+    public void setMoveThreshold(float moveThreshold){
+        this.moveThreshold = moveThreshold;
+    }
+
+    /**
+     * @param budgetNanos how long casting the rays may take before the light uses fewer rays
+     */
+    public void setBudgetNanos(long budgetNanos){
+        this.budgetNanos = budgetNanos;
+    }
+
+    /**
+     * @return number of frames the rays were cast in
+     */
+    public long getUpdateCount() {
+        return updateCount;
+    }
+
+    /**
+     * @return number of frames the cached rays were drawn without casting them
+     */
+    public long getCachedCount() {
+        return cachedCount;
+    }
+
+    /**
+     * @return CPU time of casting the rays, averaged over the last updates, in nanoseconds
+     */
+    public float getAverageUpdateNanos() {
+        return averageUpdateNanos;
+    }
+
+    /**
+     * @return CPU time of casting the rays since the light was created, in nanoseconds
+     */
+    public long getTotalUpdateNanos() {
+        return totalUpdateNanos;
+    }
+
+    public int getRayCount() {
+        return pointLight.getRayNum();
+    }
+
+    /**
+     * @return how often the ray count was changed to stay within the budget
+     */
+    public long getRayCountChanges() {
+        return rayCountChanges;
+    }
+
+    @Override
+    public void dispose() {
+        rayHandler.dispose();
+    }
+
+    /**
+     * PointLight whose ray count and dirty flag can be changed from outside box2dlights
+     */
+    private static class AdaptivePointLight extends PointLight {
+
+        AdaptivePointLight(RayHandler rayHandler, int rays, Color color, float distance, float x, float y){
+            super(rayHandler, rays, color, distance, x, y);
+        }
+
+        /**
+         * @param rays new number of rays, at most the number the light was created with
+         * @param distance distance of the light, the end points of the rays are calculated again from it
+         */
+        void changeRayCount(int rays, float distance){
+            setRayNum(rays);
+            setDistance(distance);
+        }
+
+        /**
+         * makes a static light cast its rays in the next update
+         */
+        void setDirty(){
+            dirty = true;
+        }
+    }
+}
@@ -14,7 +14,7 @@
 import com.badlogic.gdx.utils.Scaling;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
-import com.badlogic.gdx.graphics.Texture;
+import de.tum.cit.ase.maze.Assets;
 import de.tum.cit.ase.maze.MazeRunnerGame;
 
 /**
@@ -23,6 +23,8 @@
  */
 public class GameOverScreen implements Screen {
 
+    private static final String BACKGROUND_IMAGE = "game_over_2.jpg";
+
     private final MazeRunnerGame game;
 
     /**
@@ -54,7 +56,7 @@ public GameOverScreen(MazeRunnerGame game) {
         stage.getViewport().apply();
 
         // Set background image
-        backgroundImage = new Image(new Texture(Gdx.files.internal("game_over_2.jpg")));
+        backgroundImage = new Image(Assets.texture(BACKGROUND_IMAGE));
         backgroundImage.setBounds(0, 0, stage.getWidth(), stage.getHeight());
         backgroundImage.setScaling(Scaling.fill);
         stage.addActor(backgroundImage);
@@ -119,6 +121,7 @@ public void resize(int width, int height) {
     public void dispose() {
         // Dispose of the stage when screen is disposed
         stage.dispose();
+        Assets.release(BACKGROUND_IMAGE);
     }
 
     /**
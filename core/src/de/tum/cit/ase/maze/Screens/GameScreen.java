@@ -6,7 +6,6 @@
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
@@ -14,20 +13,30 @@
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.ScreenUtils;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
+import de.tum.cit.ase.maze.Assets;
+import de.tum.cit.ase.maze.FieldOfView;
+import de.tum.cit.ase.maze.FieldOfViewOverlay;
 import de.tum.cit.ase.maze.GameObject;
+import de.tum.cit.ase.maze.GameSimulation;
 import de.tum.cit.ase.maze.MazeMap;
 import de.tum.cit.ase.maze.MazeRunnerGame;
+import de.tum.cit.ase.maze.PlayerLight;
 import de.tum.cit.ase.maze.Position;
+import de.tum.cit.ase.maze.Sprites;
+import de.tum.cit.ase.maze.StaticTileLayer;
+import de.tum.cit.ase.maze.TileChunkStore;
+import de.tum.cit.ase.maze.characters.Character;
 import de.tum.cit.ase.maze.characters.Player;
 import de.tum.cit.ase.maze.enums.Direction;
 import de.tum.cit.ase.maze.enums.GameState;
+import de.tum.cit.ase.maze.enums.LightingMode;
+import de.tum.cit.ase.maze.enums.PlayerAction;
 import de.tum.cit.ase.maze.items.Key;
 import de.tum.cit.ase.maze.items.Lighting;
 import de.tum.cit.ase.maze.tiles.Tile;
 
-import java.awt.*;
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.List;
 
 /**
@@ -36,8 +45,8 @@
  */
 public class GameScreen implements Screen {
 
-    private static final TextureRegion unmuted = new TextureRegion(new Texture(Gdx.files.internal("audioOn.png")), 0, 0, 50, 50);
-    private static final TextureRegion muted = new TextureRegion(new Texture(Gdx.files.internal("audioOff.png")), 0, 0, 50, 50);
+    private static final TextureRegion unmuted = Sprites.region("audioOn.png", 0, 0, 50, 50);
+    private static final TextureRegion muted = Sprites.region("audioOff.png", 0, 0, 50, 50);
 
     private final MazeRunnerGame game;
 
@@ -57,8 +66,62 @@ public class GameScreen implements Screen {
 
     private MazeMap mazeMap;
 
+    /**
+     * runs the game logic in fixed steps, the screen only feeds it input and draws the result
+     */
+    private final GameSimulation simulation;
+
     private boolean lighting = true;
 
+    /**
+     * how the darkness is drawn while lighting is on. K switches between the modes
+     */
+    private LightingMode lightingMode;
+
+    /**
+     * area of the world the camera currently sees, plus a one tile margin
+     */
+    private final Rectangle visibleArea = new Rectangle();
+
+    /**
+     * range of tiles the camera currently sees
+     */
+    private int minVisibleX;
+    private int minVisibleY;
+    private int maxVisibleX;
+    private int maxVisibleY;
+
+    /**
+     * reused list of dynamic objects in the visible area
+     */
+    private final List<GameObject> visibleDynamicObjects = new ArrayList<>();
+
+    /**
+     * draws submitted to the sprite batch last frame versus what would have been drawn without culling
+     */
+    private int drawsSubmitted;
+    private int drawsTotal;
+
+    /**
+     * how often the sprite batch flushed to the GPU last frame (game world and HUD)
+     */
+    private int batchRenderCalls;
+
+    /**
+     * floor and wall tiles baked into cached chunks
+     */
+    private final StaticTileLayer staticTileLayer;
+
+    /**
+     * light around the player, walls cast shadows in it
+     */
+    private final PlayerLight playerLight;
+
+    /**
+     * darkness per tile from the player's field of view, used instead of the playerLight in LightingMode.FIELD_OF_VIEW
+     */
+    private final FieldOfViewOverlay fieldOfViewOverlay;
+
     /**
      * Constructor for GameScreen. Sets up the camera and font.
      *
@@ -67,6 +130,8 @@ public class GameScreen implements Screen {
     public GameScreen(MazeRunnerGame game, MazeMap mazeMap) {
         this.game = game;
         this.mazeMap = mazeMap;
+        // steps per second can be changed with -Dmaze.ticksPerSecond=...
+        this.simulation = new GameSimulation(mazeMap, Integer.getInteger("maze.ticksPerSecond", GameSimulation.DEFAULT_TICKS_PER_SECOND));
 
         // viewport tutorial: https://github.com/raeleus/viewports-sample-project#libgdx-viewports
         OrthographicCamera cam = new OrthographicCamera();
@@ -114,25 +179,37 @@ public GameScreen(MazeRunnerGame game, MazeMap mazeMap) {
         System.out.println(String.format("Initial camera position (%f,%f)", camX, camY));
         gameViewport.getCamera().update();
 
-        player.getLightHandler().setCombinedMatrix((OrthographicCamera)gameViewport.getCamera());
-
         hudViewport = new ScreenViewport();
         hudViewport.setUnitsPerPixel(unitsPerPixel);
         hudViewport.update(screenWidth, screenHeight, true);
 
         directionKeyPressed = new LinkedHashSet<>();
 
+        staticTileLayer = new StaticTileLayer(mazeMap);
+        playerLight = new PlayerLight(mazeMap);
+        // light caching can be tuned or switched off for comparisons, e.g. -Dmaze.lightCaching=false
+        playerLight.setCaching(Boolean.parseBoolean(System.getProperty("maze.lightCaching", "true")));
+        playerLight.setUpdatesPerSecond(Integer.getInteger("maze.lightUpdatesPerSecond", (int) PlayerLight.DEFAULT_UPDATES_PER_SECOND));
+        playerLight.setBudgetNanos(Long.getLong("maze.lightBudgetMicros", PlayerLight.DEFAULT_BUDGET_NANOS / 1000) * 1000);
+        fieldOfViewOverlay = new FieldOfViewOverlay(mazeMap);
+        lightingMode = LightingMode.valueOf(System.getProperty("maze.lightingMode", LightingMode.RAYS.name()));
     }
 
     // Screen interface methods with necessary functionality
     @Override
     public void render(float delta) {
-        updateObjects(delta);
-        Player player = mazeMap.getPlayer();
-        for(var gameObject : mazeMap.getCollisions(player.getBoundingBox(), player)){
-            player.collision(gameObject);
-        }
         handleInput(delta);
+        if(game.getScreen() != this){
+            // ESC went to the menu and disposed this screen, nothing of it may be used anymore
+            return;
+        }
+        simulation.advance(delta);
+        // the sounds the simulation steps asked for, at most a few per frame
+        mazeMap.getSounds().playQueued();
+        // how far we are between the last simulation step and the next one
+        float alpha = simulation.getAlpha();
+        Player player = mazeMap.getPlayer();
+        adjustCamera(player.getInterpolatedX(alpha), player.getInterpolatedY(alpha));
         ScreenUtils.clear(Color.BLACK); // Clear the screen
 
         // Move text in a circular path to have an example of a moving object
@@ -140,22 +217,47 @@ public void render(float delta) {
 
         // Set up and begin drawing with the sprite batch
         gameViewport.apply();
+
+        // only draw what the camera can see
+        updateVisibleArea();
+        drawsSubmitted = 0;
+        // make sure the walls the camera sees block the light
+        mazeMap.getWallChunks().retain(minVisibleX, minVisibleY, maxVisibleX, maxVisibleY);
+
+        // tiles that never change are baked into chunks, draw them before the batch starts
+        staticTileLayer.render((OrthographicCamera) gameViewport.getCamera(), minVisibleX, minVisibleY, maxVisibleX, maxVisibleY);
+
         game.getSpriteBatch().setProjectionMatrix(gameViewport.getCamera().combined);
         game.getSpriteBatch().begin(); // Important to call this before drawing anything
 
         // draw stuff in order. first tiles, then staticObjects then characters
-        for(int y = 0; y < mazeMap.getHeight(); y++){
-            for(int x = 0; x < mazeMap.getWidth(); x++){
+        for(int y = minVisibleY; y <= maxVisibleY; y++){
+            for(int x = minVisibleX; x <= maxVisibleX; x++){
+                if(mazeMap.getTileType(x, y).hasStaticTexture()){
+                    // already drawn by the staticTileLayer
+                    continue;
+                }
                 Tile tile = mazeMap.getTile(x, y);
+                if(tile == null){
+                    continue;
+                }
                 Position position = tile.getPosition();
                 game.getSpriteBatch().draw(tile.getTexture(), position.x, position.y, tile.getWidth(), tile.getHeight());
+                drawsSubmitted++;
             }
         }
 
         // staticObjects
-        for(var gameObject : mazeMap.getStaticObjects().values()){
-            Position position = gameObject.getPosition();
-            game.getSpriteBatch().draw(gameObject.getTexture(), position.x, position.y, gameObject.getWidth(), gameObject.getHeight());
+        for(int y = minVisibleY; y <= maxVisibleY; y++){
+            for(int x = minVisibleX; x <= maxVisibleX; x++){
+                GameObject gameObject = mazeMap.getStaticObject(x, y);
+                if(gameObject == null){
+                    continue;
+                }
+                Position position = gameObject.getPosition();
+                game.getSpriteBatch().draw(gameObject.getTexture(), position.x, position.y, gameObject.getWidth(), gameObject.getHeight());
+                drawsSubmitted++;
+            }
         }
 
         // draw dash animation when pressed
@@ -168,12 +270,21 @@ public void render(float delta) {
         }
 
         // Draw Player
-        game.getSpriteBatch().draw(player.getTexture(), player.getPosition().x+player.getDrawXOffset(), player.getPosition().y+player.getDrawYOffset(), player.getWidth(), player.getHeight());
+        game.getSpriteBatch().draw(player.getTexture(), player.getInterpolatedX(alpha)+player.getDrawXOffset(), player.getInterpolatedY(alpha)+player.getDrawYOffset(), player.getWidth(), player.getHeight());
+        drawsSubmitted++;
 
         // dynamicObjects
-        for(var gameObject : mazeMap.getDynamicObjects()){
-            Position position = gameObject.getPosition();
-            game.getSpriteBatch().draw(gameObject.getTexture(), position.x, position.y, gameObject.getWidth(), gameObject.getHeight());
+        mazeMap.getSpatialIndex().query(visibleArea, visibleDynamicObjects);
+        for(int i = 0; i < visibleDynamicObjects.size(); i++){
+            GameObject gameObject = visibleDynamicObjects.get(i);
+            if(gameObject instanceof Character){
+                Character character = (Character) gameObject;
+                game.getSpriteBatch().draw(character.getTexture(), character.getInterpolatedX(alpha), character.getInterpolatedY(alpha), character.getWidth(), character.getHeight());
+            }else{
+                Position position = gameObject.getPosition();
+                game.getSpriteBatch().draw(gameObject.getTexture(), position.x, position.y, gameObject.getWidth(), gameObject.getHeight());
+            }
+            drawsSubmitted++;
         }
 
         // Show bounding boxes when B-Key is pressed
@@ -181,28 +292,32 @@ public void render(float delta) {
             debugBoundingBoxes();
         }
         game.getSpriteBatch().end(); // Important to call this after drawing everything
+        batchRenderCalls = game.getSpriteBatch().renderCalls;
 
-        for(var gameObject : mazeMap.getDynamicObjects()){
-            gameObject.takeAction(delta);
-        }
+        // what we would have drawn without culling: every tile, static and dynamic object and the player
+        drawsTotal = mazeMap.getWidth() * mazeMap.getHeight() + mazeMap.getStaticObjects().size() + mazeMap.getDynamicObjects().size() + 1;
 
         if(player.getHealth() <= 0.0f){
             game.goToGameOverScreen();
+            // this screen, its light and its overlay are disposed now
+            return;
         }else if(player.isVictory()){
             boolean[] temp;
             temp = game.getLevelPlayed();
             temp[game.getCurrentLevel()] = true;
             //game.setLevelPlayed(temp);
             game.goToVictoryScreen();
+            return;
         }
 
         if(player.isLightCollected()){
             lighting = false;
         }
 
-        if(lighting) {
-            player.getLightHandler().setCombinedMatrix((OrthographicCamera) gameViewport.getCamera());
-            player.getLightHandler().updateAndRender();
+        if(lighting && lightingMode == LightingMode.FIELD_OF_VIEW){
+            fieldOfViewOverlay.render(game.getSpriteBatch(), (OrthographicCamera) gameViewport.getCamera(), player.getInterpolatedX(alpha), player.getInterpolatedY(alpha), player.getWidth(), player.getHeight(), minVisibleX, minVisibleY, maxVisibleX, maxVisibleY);
+        }else if(lighting) {
+            playerLight.render((OrthographicCamera) gameViewport.getCamera(), player.getInterpolatedX(alpha), player.getInterpolatedY(alpha), player.getWidth(), player.getHeight(), delta);
         }
 
         // creating new batch for HUD // Deniz 07.01
@@ -212,64 +327,7 @@ public void render(float delta) {
 
         drawHUD(player.getHealth());
         game.getSpriteBatch().end();
-
-        destroyObjects();
-    }
-
-    /**
-     * update all GameObjects based on the time elapsed
-     *
-     * @param delta elapsed time
-     */
-    private void updateObjects(float delta){
-        for(int y = 0; y < mazeMap.getHeight(); y++){
-            for(int x = 0; x < mazeMap.getWidth(); x++){
-                Tile tile = mazeMap.getTile(x, y);
-                tile.update(delta);
-            }
-        }
-        // staticObjects
-        for(var gameObject : mazeMap.getStaticObjects().values()){
-            gameObject.update(delta);
-        }
-
-        // characters
-        for(var gameObject : mazeMap.getDynamicObjects()){
-            gameObject.update(delta);
-        }
-
-        mazeMap.getPlayer().update(delta);
-
-    }
-
-    /**
-     * remove objects from mazeMap that got destroyed this frame
-     */
-    private void destroyObjects(){
-
-        List<Point> staticObjectsToRemove = new LinkedList<>();
-        // staticObjects
-        for(var entry : mazeMap.getStaticObjects().entrySet()){
-            if(entry.getValue().isDestroyed()){
-                staticObjectsToRemove.add(entry.getKey());
-            }
-        }
-
-        for(var point : staticObjectsToRemove){
-            mazeMap.getStaticObjects().remove(point);
-        }
-        List<GameObject> dynamicObjectsToRemove = new LinkedList<>();
-
-        // characters
-        for(var gameObject : mazeMap.getDynamicObjects()){
-            if(gameObject.isDestroyed()){
-                dynamicObjectsToRemove.add(gameObject);
-            }
-        }
-
-        for(var gameObject : dynamicObjectsToRemove){
-            mazeMap.getDynamicObjects().remove(gameObject);
-        }
+        batchRenderCalls += game.getSpriteBatch().renderCalls;
     }
 
     private void handleInput(float delta) {
@@ -280,22 +338,43 @@ private void handleInput(float delta) {
             game.goToMenu();
         }
 
+        // dash and attack are carried out by the simulation in its next step
         if(Gdx.input.isKeyJustPressed(Input.Keys.SPACE)){
-            mazeMap.getPlayer().dash();
+            simulation.queue(PlayerAction.DASH);
         }
 
         if(Gdx.input.isKeyJustPressed(Input.Keys.A)){
-            mazeMap.getPlayer().attack();
+            simulation.queue(PlayerAction.ATTACK);
         }
 
         if(Gdx.input.isKeyJustPressed(Input.Keys.L)){
             lighting = !lighting;
         }
 
+        if(Gdx.input.isKeyJustPressed(Input.Keys.K)){
+            lightingMode = lightingMode == LightingMode.RAYS ? LightingMode.FIELD_OF_VIEW : LightingMode.RAYS;
+            System.out.println("Lighting mode " + lightingMode);
+        }
+
         if (Gdx.input.isKeyJustPressed(Input.Keys.B)) {
             showBoundingBoxes = !showBoundingBoxes;
         }
 
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F)) {
+            System.out.println(String.format("Submitted %d of %d draws, %d batch flushes, atlas %s, %d tile chunk caches (%d fps)", drawsSubmitted, drawsTotal, batchRenderCalls, Sprites.isAtlasLoaded() ? "on" : "off", staticTileLayer.getCacheCount(), Gdx.graphics.getFramesPerSecond()));
+            TileChunkStore tiles = mazeMap.getWallChunks();
+            System.out.println(String.format("%d of max %d wall chunks resident, %d created, %d evicted, %d active objects", tiles.getResidentChunkCount(), tiles.getMaxResidentChunks(), tiles.getMaterializedChunkCount(), tiles.getEvictedChunkCount(), mazeMap.getScheduler().getActiveCount()));
+            System.out.println(String.format("%d simulation steps of %.4fs", simulation.getStepCount(), simulation.getStepDuration()));
+            System.out.println(String.format("Player light: caching %s, %d rays (changed %d times), cast in %d frames (%.0f us on average, %.1f ms total), reused in %d frames",
+                    playerLight.isCaching() ? "on" : "off", playerLight.getRayCount(), playerLight.getRayCountChanges(), playerLight.getUpdateCount(), playerLight.getAverageUpdateNanos() / 1000f,
+                    playerLight.getTotalUpdateNanos() / 1e6, playerLight.getCachedCount()));
+            System.out.println(mazeMap.getSounds().getStats());
+            System.out.println(game.getMusicManager().getStats());
+            FieldOfView fieldOfView = fieldOfViewOverlay.getFieldOfView();
+            System.out.println(String.format("Lighting mode %s, field of view computed %d times (%.1f ms total)", lightingMode, fieldOfView.getComputeCount(), fieldOfView.getTotalComputeNanos() / 1e6));
+            Assets.printStats();
+        }
+
         // keep track of which keys are pressed in which order
         // so we can press multiple keys and the newer one is
         // in effect until it's released or an even newer one pressed
@@ -320,16 +399,12 @@ private void handleInput(float delta) {
             directionKeyPressed.remove(Direction.LEFT);
         }
 
-        // move in the direction of the last pressed key
-        if (!directionKeyPressed.isEmpty()) {
-            var it = directionKeyPressed.iterator();
-            Direction direction = it.next();
-            while (it.hasNext()) {
-                direction = it.next();
-            }
-            mazeMap.getPlayer().move(direction, delta);
-            adjustCamera();
+        // move in the direction of the last pressed key, every simulation step until it's released
+        Direction direction = null;
+        for (Direction pressed : directionKeyPressed) {
+            direction = pressed;
         }
+        simulation.setMoveDirection(direction);
 
         //Let keep in the class but in commented
         //Uncomment to get manual camera movement and zoom
@@ -379,18 +454,47 @@ private void handleInput(float delta) {
         game.handleInput(delta);
     }
 
+    /**
+     * calculates which part of the maze the camera can see, so render only draws that part
+     */
+    private void updateVisibleArea(){
+        OrthographicCamera cam = (OrthographicCamera) gameViewport.getCamera();
+        float visibleWidth = gameViewport.getWorldWidth() * cam.zoom;
+        float visibleHeight = gameViewport.getWorldHeight() * cam.zoom;
+        // one tile margin so objects that are drawn bigger than their bounding box don't pop in at the edges
+        visibleArea.set(cam.position.x - visibleWidth / 2f - 1f, cam.position.y - visibleHeight / 2f - 1f, visibleWidth + 2f, visibleHeight + 2f);
+
+        minVisibleX = Math.max(0, (int)Math.floor(visibleArea.getX()));
+        minVisibleY = Math.max(0, (int)Math.floor(visibleArea.getY()));
+        maxVisibleX = Math.min(mazeMap.getWidth() - 1, (int)Math.floor(visibleArea.getX() + visibleArea.getWidth()));
+        maxVisibleY = Math.min(mazeMap.getHeight() - 1, (int)Math.floor(visibleArea.getY() + visibleArea.getHeight()));
+    }
+
+    public int getDrawsSubmitted() {
+        return drawsSubmitted;
+    }
+
+    public int getDrawsTotal() {
+        return drawsTotal;
+    }
+
+    public int getBatchRenderCalls() {
+        return batchRenderCalls;
+    }
+
     /**
      * Continuously adjust camera position with respect to player position and screen szie
+     *
+     * @param playerX x coordinate the player is drawn at
+     * @param playerY y coordinate the player is drawn at
      */
-    private void adjustCamera(){
+    private void adjustCamera(float playerX, float playerY){
         OrthographicCamera cam = (OrthographicCamera) gameViewport.getCamera();
         //The camera's viewing angle should show the map and the player,
         // it will always be at a point in the middle, not showing the black area outside the map.
         // Otherwise, it won't move.
         kameraX = gameViewport.getCamera().position.x;
         kameraY = gameViewport.getCamera().position.y;
-        float playerY = mazeMap.getPlayer().getPosition().y;
-        float playerX = mazeMap.getPlayer().getPosition().x;
         float halfWorldHeight = gameViewport.getWorldHeight() / 2f;
         float halfWorldWidth = gameViewport.getWorldWidth() / 2f;
 
@@ -523,6 +627,9 @@ public void hide() {
 
     @Override
     public void dispose() {
+        staticTileLayer.dispose();
+        playerLight.dispose();
+        fieldOfViewOverlay.dispose();
     }
 
     public void drawHUD(float health){
@@ -587,17 +694,17 @@ public void drawHUD(float health){
         }
     }
 
-    private Texture tilemap = new Texture(Gdx.files.internal("basictiles.png"));
+    private TextureRegion tilemap = Sprites.sheet("basictiles.png");
     private TextureRegion redTile = new TextureRegion(tilemap, 16, 16, 16, 16);
+    private final Rectangle debugTileBoundingBox = new Rectangle();
     private void debugBoundingBoxes(){
         Sprite boundingBoxSprite;
         SpriteBatch spriteBatch = game.getSpriteBatch();
         float boundingBoxAlpha = 0.6f;
         Rectangle boundingBox;
-        for(int y = 0; y < mazeMap.getHeight(); y++){
-            for(int x = 0; x < mazeMap.getWidth(); x++){
-                Tile tile = mazeMap.getTile(x, y);
-                boundingBox = tile.getBoundingBox();
+        for(int y = minVisibleY; y <= maxVisibleY; y++){
+            for(int x = minVisibleX; x <= maxVisibleX; x++){
+                boundingBox = mazeMap.getTileBoundingBox(x, y, debugTileBoundingBox);
                 boundingBoxSprite = new Sprite(redTile);
                 boundingBoxSprite.setColor(Color.PURPLE);
                 boundingBoxSprite.setAlpha(boundingBoxAlpha*0.5f);
@@ -608,17 +715,23 @@ private void debugBoundingBoxes(){
         }
 
         // staticObjects
-        for(var gameObject : mazeMap.getStaticObjects().values()){
-            boundingBox = gameObject.getBoundingBox();
-            boundingBoxSprite = new Sprite(redTile);
-            boundingBoxSprite.setAlpha(boundingBoxAlpha);
-            boundingBoxSprite.setSize(boundingBox.getWidth(), boundingBox.getHeight());
-            boundingBoxSprite.setPosition(boundingBox.getX(), boundingBox.getY());
-            boundingBoxSprite.draw(spriteBatch);
+        for(int y = minVisibleY; y <= maxVisibleY; y++){
+            for(int x = minVisibleX; x <= maxVisibleX; x++){
+                GameObject gameObject = mazeMap.getStaticObject(x, y);
+                if(gameObject == null){
+                    continue;
+                }
+                boundingBox = gameObject.getBoundingBox();
+                boundingBoxSprite = new Sprite(redTile);
+                boundingBoxSprite.setAlpha(boundingBoxAlpha);
+                boundingBoxSprite.setSize(boundingBox.getWidth(), boundingBox.getHeight());
+                boundingBoxSprite.setPosition(boundingBox.getX(), boundingBox.getY());
+                boundingBoxSprite.draw(spriteBatch);
+            }
         }
 
         // characters
-        for(var gameObject : mazeMap.getDynamicObjects()){
+        for(var gameObject : visibleDynamicObjects){
             boundingBox = gameObject.getBoundingBox();
             boundingBoxSprite = new Sprite(redTile);
             boundingBoxSprite.setAlpha(boundingBoxAlpha);
@@ -5,7 +5,6 @@
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
@@ -16,6 +15,7 @@
 import com.badlogic.gdx.utils.Scaling;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
+import de.tum.cit.ase.maze.Assets;
 import de.tum.cit.ase.maze.MazeRunnerGame;
 
 
@@ -29,6 +29,8 @@
  */
 public class LoadMapMenuScreen implements Screen {
 
+    private static final String BACKGROUND_IMAGE = "mapmenu_4.jpeg";
+
     private final MazeRunnerGame game;
 
     /**
@@ -54,7 +56,7 @@ public LoadMapMenuScreen(MazeRunnerGame game) {
         stage = new Stage(viewport, game.getSpriteBatch()); // Create a stage for UI elements
         stage.getViewport().apply();
 
-        backgroundImage = new Image(new Texture(Gdx.files.internal("mapmenu_4.jpeg"))); // Create a background image and load a texture
+        backgroundImage = new Image(Assets.texture(BACKGROUND_IMAGE)); // Create a background image and load a texture
         backgroundImage.setBounds(0, 0, stage.getWidth(), stage.getHeight());
         backgroundImage.setScaling(Scaling.fill);
         stage.addActor(backgroundImage); // Add the backgroundImage to the stage
@@ -156,6 +158,7 @@ public void resize(int width, int height) {
     public void dispose() {
         // Dispose of the stage when screen is disposed
         stage.dispose();
+        Assets.release(BACKGROUND_IMAGE);
     }
 
     /**
@@ -0,0 +1,146 @@
+package de.tum.cit.ase.maze.Screens;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.scenes.scene2d.ui.ProgressBar;
+import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.utils.viewport.ScreenViewport;
+import de.tum.cit.ase.maze.Assets;
+import de.tum.cit.ase.maze.MazeRunnerGame;
+
+/**
+ * The LoadingScreen class is shown when the game starts.
+ * It lets the AssetManager load the sprite sheets and sounds in the background and shows the progress,
+ * so the window stays responsive and starting a level doesn't have to wait for files.
+ * It only waits for the files of the next screen, the rest keeps loading while that screen is shown.
+ */
+public class LoadingScreen implements Screen {
+
+    private final MazeRunnerGame game;
+
+    /**
+     * The stage containing UI elements for the loading screen.
+     */
+    private final Stage stage;
+
+    private final ProgressBar progressBar;
+    private final Label progressLabel;
+
+    /**
+     * textures the screen after loading needs
+     */
+    private final String[] requiredTextures;
+
+    private boolean finished = false;
+
+    /**
+     * Constructs a LoadingScreen and queues all game assets.
+     * @param game is the MazeRunnerGame instance, used to access global resources and methods.
+     * @param extraTextures textures the screen after loading needs, e.g. the menu background
+     */
+    public LoadingScreen(MazeRunnerGame game, String... extraTextures) {
+        this.game = game;
+        this.requiredTextures = extraTextures;
+
+        // Set up camera and viewport
+        OrthographicCamera camera = new OrthographicCamera();
+        ScreenViewport viewport = new ScreenViewport(camera);
+
+        // Configure units per pixel based on screen size and default UI size
+        float unitsPerPixel = 1f / Math.max(Gdx.graphics.getWidth() / game.getUiDefaultWidth(), Gdx.graphics.getHeight() / game.getUiDefaultHeight());
+        viewport.setUnitsPerPixel(unitsPerPixel);
+
+        // Initialize stage with viewport and sprite batch
+        stage = new Stage(viewport, game.getSpriteBatch());
+        stage.getViewport().apply();
+
+        // Create a table for layout
+        Table table = new Table();
+        table.setFillParent(true); // Make the table fill the stage
+        stage.addActor(table); // Add the table to the stage
+
+        table.add(new Label("Loading...", game.getSkin(), "title")).padBottom(80).row();
+
+        progressBar = new ProgressBar(0f, 1f, 0.01f, false, game.getSkin());
+        table.add(progressBar).width(700).padBottom(20).row();
+
+        progressLabel = new Label("0%", game.getSkin());
+        table.add(progressLabel).row();
+
+        Assets.queueGameAssets(extraTextures);
+    }
+
+    /**
+     * Loads assets for a few milliseconds and updates the progress bar.
+     * Switches to the menu once the files it needs are loaded.
+     * @param delta The time in seconds since the last render.
+     */
+    @Override
+    public void render(float delta) {
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT); // Clear the screen
+
+        boolean done = Assets.update();
+        float progress = Assets.getProgress();
+        progressBar.setValue(progress);
+        progressLabel.setText((int)(progress * 100) + "%");
+
+        stage.act(Math.min(Gdx.graphics.getDeltaTime(), 1 / 30f)); // Update the stage
+        stage.draw(); // Draw the stage
+
+        if(!finished && (done || isLoaded(requiredTextures))){
+            finished = true;
+            game.onAssetsLoaded();
+        }
+    }
+
+    private static boolean isLoaded(String[] textures){
+        for(String texture : textures){
+            if(!Assets.isLoaded(texture, Texture.class)){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Resizes the stage viewport when the screen is resized.
+     * @param width new width of the screen.
+     * @param height new height of the screen.
+     */
+    @Override
+    public void resize(int width, int height) {
+        float unitsPerPixel = 1f / Math.max(width / game.getUiDefaultWidth(), height / game.getUiDefaultHeight());
+        ((ScreenViewport)stage.getViewport()).setUnitsPerPixel(unitsPerPixel);
+        stage.getViewport().update(width, height, true); // Update the stage viewport on resize
+    }
+
+    /**
+     * Disposes of resources when the screen is disposed.
+     */
+    @Override
+    public void dispose() {
+        stage.dispose();
+    }
+
+    // The following methods are part of the Screen interface but are not used in this screen.
+    @Override
+    public void show() {
+    }
+
+    @Override
+    public void pause() {
+    }
+
+    @Override
+    public void resume() {
+    }
+
+    @Override
+    public void hide() {
+    }
+}
@@ -4,7 +4,6 @@
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
@@ -14,6 +13,7 @@
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.utils.Scaling;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
+import de.tum.cit.ase.maze.Assets;
 import de.tum.cit.ase.maze.MazeRunnerGame;
 
 /**
@@ -22,6 +22,11 @@
  */
 public class MenuScreen implements Screen {
 
+    /**
+     * background of the menu, preloaded by the LoadingScreen
+     */
+    public static final String BACKGROUND_IMAGE = "menu_5.jpeg";
+
     private final MazeRunnerGame game;
 
     /**
@@ -47,7 +52,7 @@ public MenuScreen(MazeRunnerGame game) {
         stage = new Stage(viewport, game.getSpriteBatch()); // Create a stage for UI elements
         stage.getViewport().apply();
 
-        backgroundImage = new Image(new Texture(Gdx.files.internal("menu_5.jpeg"))); // Create a background image and load a texture
+        backgroundImage = new Image(Assets.texture(BACKGROUND_IMAGE)); // Create a background image and load a texture
         backgroundImage.setBounds(0, 0, stage.getWidth(), stage.getHeight());
         backgroundImage.setScaling(Scaling.fill);
         stage.addActor(backgroundImage); // Add the backgroundImage to the stage
@@ -143,6 +148,7 @@ public void resize(int width, int height) {
     public void dispose() {
         // Dispose of the stage when screen is disposed
         stage.dispose();
+        Assets.release(BACKGROUND_IMAGE);
     }
 
     @Override
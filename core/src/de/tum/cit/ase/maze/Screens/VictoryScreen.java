@@ -4,7 +4,6 @@
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
@@ -15,11 +14,14 @@
 import com.badlogic.gdx.utils.Scaling;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
+import de.tum.cit.ase.maze.Assets;
 import de.tum.cit.ase.maze.MazeRunnerGame;
 
 
 public class VictoryScreen implements Screen {
 
+    private static final String BACKGROUND_IMAGE = "victory_5.jpg";
+
     private final MazeRunnerGame game;
 
     /**
@@ -44,7 +46,7 @@ public VictoryScreen(MazeRunnerGame game) {
         stage = new Stage(viewport, game.getSpriteBatch()); // Create a stage for UI elements
         stage.getViewport().apply();
 
-        backgroundImage = new Image(new Texture(Gdx.files.internal("victory_5.jpg"))); // Create a background image and load a texture
+        backgroundImage = new Image(Assets.texture(BACKGROUND_IMAGE)); // Create a background image and load a texture
         backgroundImage.setBounds(0, 0, stage.getWidth(), stage.getHeight());
         backgroundImage.setScaling(Scaling.fill);
         stage.addActor(backgroundImage); // Add the backgroundImage to the stage
@@ -70,14 +72,7 @@ public void changed(ChangeEvent event, Actor actor) {
             }
         });
 
-        boolean[] temp = game.getLevelPlayed();
-        int nextLevelNumber = 6;
-        for (int i = 0; i < temp.length; i++) {
-            if (!temp[i]) {
-                nextLevelNumber = Math.min(nextLevelNumber, i);
-            }
-        }
-        nextNumber=nextLevelNumber;
+        nextNumber=game.getNextLevel();
 
         if (nextNumber<6) {
             table.add(nextLevel).width(350).row(); //go to next level
@@ -129,6 +124,7 @@ public void resize(int width, int height) {
     public void dispose() {
         // Dispose of the stage when screen is disposed
         stage.dispose();
+        Assets.release(BACKGROUND_IMAGE);
     }
 
     /**
@@ -0,0 +1,246 @@
+package de.tum.cit.ase.maze;
+
+import com.badlogic.gdx.audio.Sound;
+import de.tum.cit.ase.maze.characters.Player;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SoundService plays the sound effects of a maze map. Game logic doesn't call Sound.play() itself, it asks the
+ * service with play(), and the requests are played once per frame by playQueued(), which the GameScreen calls.
+ *
+ * Requests are filtered before anything reaches the audio backend:
+ * - sounds with a position further from the player than their hearing distance are dropped right away
+ * - the same sound requested several times before the queue is played is played once, with the highest priority
+ * - a sound is not played again within DEDUPLICATION_WINDOW seconds of game time
+ * - each sound has at most maxVoices voices, a new voice stops the oldest one
+ * - at most MAX_PLAYS_PER_FRAME sounds start per frame, the ones with the highest priority. The others stay in the queue for the next frame
+ * - when more than MAX_QUEUED different sounds are queued, the request with the lowest priority is dropped
+ * The queue is a few reused arrays, requests don't allocate. Everything runs on the game thread.
+ */
+public class SoundService {
+
+    public static final int PRIORITY_LOW = 0;
+    public static final int PRIORITY_NORMAL = 1;
+    public static final int PRIORITY_HIGH = 2;
+
+    /**
+     * how many different sounds can wait in the queue. more than there are sounds in the game
+     */
+    private static final int MAX_QUEUED = 16;
+
+    private static final int MAX_PLAYS_PER_FRAME = 4;
+
+    public static final float DEDUPLICATION_WINDOW = 0.1f;
+
+    public static final int DEFAULT_MAX_VOICES = 2;
+
+    /**
+     * after this long a voice counts as finished. libGDX can't tell when a sound is done playing
+     */
+    private static final float VOICE_DURATION = 1.5f;
+
+    /**
+     * the voices of one sound
+     */
+    private static class Voices {
+        private final long[] ids;
+        private final float[] startTimes;
+        private int next = 0;
+        private float lastPlayed = -Float.MAX_VALUE;
+
+        private Voices(int maxVoices) {
+            ids = new long[maxVoices];
+            startTimes = new float[maxVoices];
+            for(int i = 0; i < maxVoices; i++){
+                ids[i] = -1;
+                startTimes[i] = -Float.MAX_VALUE;
+            }
+        }
+    }
+
+    private final MazeMap mazeMap;
+
+    private final Sound[] queuedSounds = new Sound[MAX_QUEUED];
+    private final int[] queuedPriorities = new int[MAX_QUEUED];
+    private int queuedCount = 0;
+
+    private final Map<Sound, Voices> voices = new HashMap<>();
+
+    // metrics
+    private long requestCount = 0;
+    private long playCount = 0;
+    private long culledCount = 0;
+    private long mergedCount = 0;
+    private long deduplicatedCount = 0;
+    private long stolenCount = 0;
+    private long deferredCount = 0;
+    private long droppedCount = 0;
+
+    /**
+     * @param mazeMap maze map whose player is the listener and whose clock is used
+     */
+    public SoundService(MazeMap mazeMap){
+        this.mazeMap = mazeMap;
+    }
+
+    /**
+     * Requests a sound that plays no matter where the player is, e.g. the player's own sounds
+     *
+     * @param sound sound to play, nothing happens if it's null
+     * @param priority one of the PRIORITY constants
+     */
+    public void play(Sound sound, int priority){
+        if(sound == null){
+            return;
+        }
+        requestCount++;
+        enqueue(sound, priority);
+    }
+
+    /**
+     * Requests a sound made at a position in the maze. It's only played if the player is within hearing distance
+     *
+     * @param sound sound to play, nothing happens if it's null
+     * @param priority one of the PRIORITY constants
+     * @param x x coordinate of the source
+     * @param y y coordinate of the source
+     * @param hearingDistance how far away the player can hear it, in tiles
+     */
+    public void play(Sound sound, int priority, float x, float y, float hearingDistance){
+        if(sound == null){
+            return;
+        }
+        requestCount++;
+        Player player = mazeMap.getPlayer();
+        float dx = player.getPosition().x - x;
+        float dy = player.getPosition().y - y;
+        if(dx * dx + dy * dy >= hearingDistance * hearingDistance){
+            culledCount++;
+            return;
+        }
+        enqueue(sound, priority);
+    }
+
+    /**
+     * Sets how many voices of the sound can play at the same time
+     *
+     * @param sound the sound
+     * @param maxVoices number of voices, at least 1
+     */
+    public void setMaxVoices(Sound sound, int maxVoices){
+        voices.put(sound, new Voices(Math.max(1, maxVoices)));
+    }
+
+    /**
+     * Plays the queued sounds, highest priority first. Sounds over the frame limit are moved to the front
+     * of the queue and played in the next frame. Call once per frame
+     */
+    public void playQueued(){
+        // a handful of entries, sort them by priority with an insertion sort
+        for(int i = 1; i < queuedCount; i++){
+            Sound sound = queuedSounds[i];
+            int priority = queuedPriorities[i];
+            int j = i - 1;
+            while(j >= 0 && queuedPriorities[j] < priority){
+                queuedSounds[j + 1] = queuedSounds[j];
+                queuedPriorities[j + 1] = queuedPriorities[j];
+                j--;
+            }
+            queuedSounds[j + 1] = sound;
+            queuedPriorities[j + 1] = priority;
+        }
+
+        float now = mazeMap.getTime();
+        int played = 0;
+        int kept = 0;
+        for(int i = 0; i < queuedCount; i++){
+            Sound sound = queuedSounds[i];
+            if(played == MAX_PLAYS_PER_FRAME){
+                // still sorted by priority, so they are played first in the next frame
+                queuedSounds[kept] = sound;
+                queuedPriorities[kept] = queuedPriorities[i];
+                kept++;
+                deferredCount++;
+                continue;
+            }
+            Voices soundVoices = voices.get(sound);
+            if(soundVoices == null){
+                soundVoices = new Voices(DEFAULT_MAX_VOICES);
+                voices.put(sound, soundVoices);
+            }
+            if(now - soundVoices.lastPlayed < DEDUPLICATION_WINDOW){
+                deduplicatedCount++;
+                continue;
+            }
+            // the oldest voice is replaced, stop it if it might still be playing
+            int slot = soundVoices.next;
+            if(soundVoices.ids[slot] != -1 && now - soundVoices.startTimes[slot] < VOICE_DURATION){
+                sound.stop(soundVoices.ids[slot]);
+                stolenCount++;
+            }
+            soundVoices.ids[slot] = sound.play();
+            soundVoices.startTimes[slot] = now;
+            soundVoices.next = (slot + 1) % soundVoices.ids.length;
+            soundVoices.lastPlayed = now;
+            played++;
+            playCount++;
+        }
+        for(int i = kept; i < queuedCount; i++){
+            queuedSounds[i] = null;
+        }
+        queuedCount = kept;
+    }
+
+    private void enqueue(Sound sound, int priority){
+        for(int i = 0; i < queuedCount; i++){
+            if(queuedSounds[i] == sound){
+                queuedPriorities[i] = Math.max(queuedPriorities[i], priority);
+                mergedCount++;
+                return;
+            }
+        }
+        if(queuedCount < MAX_QUEUED){
+            queuedSounds[queuedCount] = sound;
+            queuedPriorities[queuedCount] = priority;
+            queuedCount++;
+            return;
+        }
+        // full, replace the request with the lowest priority if this one is more important
+        int lowest = 0;
+        for(int i = 1; i < queuedCount; i++){
+            if(queuedPriorities[i] < queuedPriorities[lowest]){
+                lowest = i;
+            }
+        }
+        droppedCount++;
+        if(queuedPriorities[lowest] < priority){
+            queuedSounds[lowest] = sound;
+            queuedPriorities[lowest] = priority;
+        }
+    }
+
+    /**
+     * @return number of sounds waiting for playQueued()
+     */
+    public int getQueuedCount() {
+        return queuedCount;
+    }
+
+    /**
+     * @return human readable counters of what happened to the requests
+     */
+    public String getStats(){
+        return String.format("%d sound requests: %d played, %d out of earshot, %d merged in the queue, %d too soon after the last one, %d times deferred to the next frame, %d dropped from a full queue, %d voices stopped for new ones",
+                requestCount, playCount, culledCount, mergedCount, deduplicatedCount, deferredCount, droppedCount, stolenCount);
+    }
+
+    public long getRequestCount() {
+        return requestCount;
+    }
+
+    public long getPlayCount() {
+        return playCount;
+    }
+}
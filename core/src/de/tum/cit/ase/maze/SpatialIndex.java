@@ -0,0 +1,168 @@
+package de.tum.cit.ase.maze;
+
+import com.badlogic.gdx.math.Rectangle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SpatialIndex is a uniform grid laid over the maze map that buckets dynamic objects (like Ghosts)
+ * by the position of their bounding box. Collision queries only have to look at the buckets
+ * an area overlaps instead of every dynamic object on the map.
+ *
+ * Objects are kept in the bucket their bounding box starts in (bottom left corner).
+ * Queries are extended by the size of the biggest object seen so far, so objects reaching into the area
+ * from a neighbouring bucket are found as well.
+ */
+public class SpatialIndex {
+
+    /**
+     * side length of a bucket in tiles
+     */
+    public static final int BUCKET_SIZE = 4;
+
+    private final int bucketsX;
+    private final int bucketsY;
+
+    /**
+     * dynamic objects per bucket, indexed by bucketY * bucketsX + bucketX.
+     * Buckets are created when the first object enters them, so big maps don't allocate a list per bucket up front
+     */
+    private final List<List<GameObject>> buckets;
+
+    /**
+     * biggest bounding box width and height of all indexed objects
+     */
+    private float maxObjectWidth = 0f;
+    private float maxObjectHeight = 0f;
+
+    private int size = 0;
+
+    /**
+     * Creates an empty index covering a maze map of the given size
+     *
+     * @param width width of the maze map in tiles
+     * @param height height of the maze map in tiles
+     */
+    public SpatialIndex(int width, int height){
+        this.bucketsX = Math.max(1, (width + BUCKET_SIZE - 1) / BUCKET_SIZE);
+        this.bucketsY = Math.max(1, (height + BUCKET_SIZE - 1) / BUCKET_SIZE);
+        this.buckets = new ArrayList<>(bucketsX * bucketsY);
+        for(int i = 0; i < bucketsX * bucketsY; i++){
+            buckets.add(null);
+        }
+    }
+
+    /**
+     * adds a gameObject to the index
+     *
+     * @param gameObject object to add
+     */
+    public void add(GameObject gameObject){
+        if(gameObject.spatialBucket >= 0){
+            return;
+        }
+        Rectangle boundingBox = gameObject.getBoundingBox();
+        maxObjectWidth = Math.max(maxObjectWidth, boundingBox.getWidth());
+        maxObjectHeight = Math.max(maxObjectHeight, boundingBox.getHeight());
+        int bucket = bucketOf(boundingBox);
+        bucketAt(bucket).add(gameObject);
+        gameObject.spatialBucket = bucket;
+        size++;
+    }
+
+    /**
+     * removes a gameObject from the index. does nothing if it isn't indexed
+     *
+     * @param gameObject object to remove
+     */
+    public void remove(GameObject gameObject){
+        if(gameObject.spatialBucket < 0){
+            return;
+        }
+        buckets.get(gameObject.spatialBucket).remove(gameObject);
+        gameObject.spatialBucket = -1;
+        size--;
+    }
+
+    /**
+     * moves the gameObject to the bucket matching its current bounding box.
+     * Called from GameObject.updatePosition, so it's cheap if the object stays in its bucket
+     *
+     * @param gameObject object that moved
+     */
+    public void update(GameObject gameObject){
+        if(gameObject.spatialBucket < 0){
+            return;
+        }
+        Rectangle boundingBox = gameObject.getBoundingBox();
+        maxObjectWidth = Math.max(maxObjectWidth, boundingBox.getWidth());
+        maxObjectHeight = Math.max(maxObjectHeight, boundingBox.getHeight());
+        int bucket = bucketOf(boundingBox);
+        if(bucket != gameObject.spatialBucket){
+            buckets.get(gameObject.spatialBucket).remove(gameObject);
+            bucketAt(bucket).add(gameObject);
+            gameObject.spatialBucket = bucket;
+        }
+    }
+
+    /**
+     * Collects all indexed objects whose bounding box overlaps the given area.
+     * The result list is cleared first, so it can be reused between queries without allocating.
+     *
+     * @param area area to query
+     * @param result list the overlapping objects are written to
+     * @return the given result list
+     */
+    public List<GameObject> query(Rectangle area, List<GameObject> result){
+        result.clear();
+        if(size == 0){
+            return result;
+        }
+        int minBucketX = bucketX(area.getX() - maxObjectWidth);
+        int minBucketY = bucketY(area.getY() - maxObjectHeight);
+        int maxBucketX = bucketX(area.getX() + area.getWidth());
+        int maxBucketY = bucketY(area.getY() + area.getHeight());
+        for(int by = minBucketY; by <= maxBucketY; by++){
+            for(int bx = minBucketX; bx <= maxBucketX; bx++){
+                List<GameObject> bucket = buckets.get(by * bucketsX + bx);
+                if(bucket == null){
+                    continue;
+                }
+                for(int i = 0; i < bucket.size(); i++){
+                    GameObject gameObject = bucket.get(i);
+                    if(area.overlaps(gameObject.getBoundingBox())){
+                        result.add(gameObject);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private List<GameObject> bucketAt(int index){
+        List<GameObject> bucket = buckets.get(index);
+        if(bucket == null){
+            bucket = new ArrayList<>(2);
+            buckets.set(index, bucket);
+        }
+        return bucket;
+    }
+
+    private int bucketOf(Rectangle boundingBox){
+        return bucketY(boundingBox.getY()) * bucketsX + bucketX(boundingBox.getX());
+    }
+
+    private int bucketX(float x){
+        // objects can be slightly outside the map, e.g. ghosts chasing the player, so clamp to the outer buckets
+        return Math.min(Math.max((int)Math.floor(x / BUCKET_SIZE), 0), bucketsX - 1);
+    }
+
+    private int bucketY(float y){
+        return Math.min(Math.max((int)Math.floor(y / BUCKET_SIZE), 0), bucketsY - 1);
+    }
+}
@@ -0,0 +1,105 @@
+package de.tum.cit.ase.maze;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sprites hands out the sprite sheets of the game as TextureRegions.
+ *
+ * The build packs all sprite sheets into one texture atlas (see the packTextures task in build.gradle),
+ * so tiles, traps, items and characters share a single texture and the SpriteBatch doesn't have to flush
+ * every time two consecutive draws come from different sheets.
+ * Every sheet is packed as a whole, without rotating or trimming it, so regions can still be cut out of it
+ * with the pixel coordinates of the original png.
+ *
+ * If the atlas wasn't packed (e.g. when starting the game without gradle), the sheets are loaded as separate textures
+ * through the Assets registry instead.
+ */
+public class Sprites {
+
+    /**
+     * name of the atlas file created by the packTextures task
+     */
+    public static final String ATLAS_FILE = "sprites.atlas";
+
+    private static TextureAtlas atlas;
+    private static boolean atlasLoaded = false;
+
+    /**
+     * sheets loaded as separate textures because they aren't in the atlas, by file name
+     */
+    private static final Map<String, TextureRegion> looseSheets = new HashMap<>();
+
+    private Sprites() {
+    }
+
+    /**
+     * Returns a whole sprite sheet. Regions can be cut from it with new TextureRegion(sheet, x, y, width, height),
+     * the coordinates are relative to the sheet.
+     *
+     * @param fileName file name of the sheet, e.g. "objects.png"
+     * @return region covering the whole sheet
+     */
+    public static TextureRegion sheet(String fileName){
+        TextureAtlas atlas = getAtlas();
+        if(atlas != null){
+            TextureAtlas.AtlasRegion region = atlas.findRegion(regionName(fileName));
+            if(region != null){
+                return region;
+            }
+        }
+        TextureRegion sheet = looseSheets.get(fileName);
+        if(sheet == null){
+            sheet = new TextureRegion(Assets.texture(fileName));
+            looseSheets.put(fileName, sheet);
+        }
+        return sheet;
+    }
+
+    /**
+     * Cuts a region out of a sprite sheet
+     *
+     * @param fileName file name of the sheet, e.g. "objects.png"
+     * @param x x coordinate in the sheet in pixels
+     * @param y y coordinate in the sheet in pixels
+     * @param width width in pixels
+     * @param height height in pixels
+     * @return the region
+     */
+    public static TextureRegion region(String fileName, int x, int y, int width, int height){
+        return new TextureRegion(sheet(fileName), x, y, width, height);
+    }
+
+    /**
+     * @return true if the sheets come from the packed atlas
+     */
+    public static boolean isAtlasLoaded(){
+        return getAtlas() != null;
+    }
+
+    private static TextureAtlas getAtlas(){
+        if(!atlasLoaded){
+            atlasLoaded = true;
+            FileHandle atlasFile = Gdx.files.internal(ATLAS_FILE);
+            if(atlasFile.exists()){
+                atlas = Assets.atlas(ATLAS_FILE);
+            }else{
+                System.out.println(ATLAS_FILE + " not found, loading sprite sheets as separate textures");
+            }
+        }
+        return atlas;
+    }
+
+    /**
+     * the texture packer names regions after the file name without extension
+     */
+    private static String regionName(String fileName){
+        int dot = fileName.lastIndexOf('.');
+        return dot < 0 ? fileName : fileName.substring(0, dot);
+    }
+}
@@ -0,0 +1,212 @@
+package de.tum.cit.ase.maze;
+
+import java.util.Arrays;
+
+/**
+ * StaticObjectMap stores the static objects of a maze map (traps, keys, hearts, ...) by the cell they are in.
+ *
+ * It's an open addressing hash map with linear probing keyed by the primitive cell index y * width + x,
+ * so looking up a cell neither allocates a key object nor boxes anything.
+ * Iterate over all objects with capacity() and valueAt(int), empty slots return null.
+ */
+public class StaticObjectMap {
+
+    private static final long EMPTY = -1L;
+    private static final float MAX_LOAD_FACTOR = 0.5f;
+
+    /**
+     * width of the maze map, used to calculate the cell keys
+     */
+    private final int mapWidth;
+
+    private long[] keys;
+    private GameObject[] values;
+    private int mask;
+    private int size;
+
+    /**
+     * Creates an empty map for a maze map of the given width
+     *
+     * @param mapWidth width of the maze map in tiles
+     * @param expectedSize how many objects are expected, used for the initial capacity
+     */
+    public StaticObjectMap(int mapWidth, int expectedSize){
+        this.mapWidth = mapWidth;
+        int capacity = 16;
+        while(capacity * MAX_LOAD_FACTOR < expectedSize){
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    /**
+     * Returns the static object in the given cell
+     *
+     * @param x cell x coordinate
+     * @param y cell y coordinate
+     * @return the object in that cell or null if there is none
+     */
+    public GameObject get(int x, int y){
+        int slot = findSlot(key(x, y));
+        return slot < 0 ? null : values[slot];
+    }
+
+    /**
+     * @param x cell x coordinate
+     * @param y cell y coordinate
+     * @return true if there is an object in the given cell
+     */
+    public boolean contains(int x, int y){
+        return findSlot(key(x, y)) >= 0;
+    }
+
+    /**
+     * Puts the static object into the given cell, replacing whatever was there
+     *
+     * @param x cell x coordinate
+     * @param y cell y coordinate
+     * @param gameObject object to store
+     * @return the object previously stored in that cell or null
+     */
+    public GameObject put(int x, int y, GameObject gameObject){
+        if(size + 1 > keys.length * MAX_LOAD_FACTOR){
+            allocateAndRehash(keys.length << 1);
+        }
+        long key = key(x, y);
+        int slot = slotOf(key);
+        while(keys[slot] != EMPTY){
+            if(keys[slot] == key){
+                GameObject previous = values[slot];
+                values[slot] = gameObject;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = gameObject;
+        size++;
+        return null;
+    }
+
+    /**
+     * Removes the static object in the given cell
+     *
+     * @param x cell x coordinate
+     * @param y cell y coordinate
+     * @return the removed object or null if the cell was empty
+     */
+    public GameObject remove(int x, int y){
+        int slot = findSlot(key(x, y));
+        if(slot < 0){
+            return null;
+        }
+        GameObject removed = values[slot];
+        removeAt(slot);
+        return removed;
+    }
+
+    /**
+     * removes all objects that got destroyed
+     *
+     * @return number of removed objects
+     */
+    public int removeDestroyed(){
+        int removed = 0;
+        for(int slot = 0; slot < keys.length; slot++){
+            if(keys[slot] != EMPTY && values[slot].isDestroyed()){
+                removeAt(slot);
+                removed++;
+                // removing shifts the following entries back, so this slot has to be checked again
+                slot--;
+            }
+        }
+        return removed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return number of slots, valid indices for valueAt(int)
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * @param slot index between 0 and capacity()
+     * @return object stored in that slot or null if the slot is empty
+     */
+    public GameObject valueAt(int slot){
+        return values[slot];
+    }
+
+    private long key(int x, int y){
+        return (long)y * mapWidth + x;
+    }
+
+    private int slotOf(long key){
+        // fibonacci hashing, spreads neighbouring cells over the table
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int)(hash ^ (hash >>> 32)) & mask;
+    }
+
+    private int findSlot(long key){
+        int slot = slotOf(key);
+        while(keys[slot] != EMPTY){
+            if(keys[slot] == key){
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * removes the entry in the given slot and shifts following entries of the probe sequence back,
+     * so lookups don't need tombstones
+     */
+    private void removeAt(int slot){
+        int free = slot;
+        int next = (slot + 1) & mask;
+        while(keys[next] != EMPTY){
+            int ideal = slotOf(keys[next]);
+            // only move the entry if the free slot lies between its ideal slot and where it is now
+            if(((next - ideal) & mask) >= ((next - free) & mask)){
+                keys[free] = keys[next];
+                values[free] = values[next];
+                free = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[free] = EMPTY;
+        values[free] = null;
+        size--;
+    }
+
+    private void allocate(int capacity){
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = new GameObject[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    private void allocateAndRehash(int capacity){
+        long[] oldKeys = keys;
+        GameObject[] oldValues = values;
+        allocate(capacity);
+        for(int slot = 0; slot < oldKeys.length; slot++){
+            if(oldKeys[slot] != EMPTY){
+                int newSlot = slotOf(oldKeys[slot]);
+                while(keys[newSlot] != EMPTY){
+                    newSlot = (newSlot + 1) & mask;
+                }
+                keys[newSlot] = oldKeys[slot];
+                values[newSlot] = oldValues[slot];
+                size++;
+            }
+        }
+    }
+}
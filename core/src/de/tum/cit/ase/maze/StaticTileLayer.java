@@ -0,0 +1,230 @@
+package de.tum.cit.ase.maze;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.Disposable;
+import de.tum.cit.ase.maze.tiles.TileType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * StaticTileLayer bakes the tiles that never change their texture (walls, floors, entry point)
+ * into cached geometry, so they don't have to be sent to the SpriteBatch every frame.
+ *
+ * The maze is split into chunks of CHUNK_SIZE x CHUNK_SIZE tiles. A chunk is baked into its own SpriteCache
+ * the first time the camera sees it, and chunks that weren't visible for the longest time get rebaked
+ * for other chunks once all caches are in use. Tiles without a static texture (like the Exit) are skipped
+ * and have to be drawn by the caller.
+ */
+public class StaticTileLayer implements Disposable {
+
+    /**
+     * side length of a chunk in tiles
+     */
+    public static final int CHUNK_SIZE = TileChunkStore.CHUNK_SIZE;
+
+    /**
+     * how many chunks can be baked at the same time before old ones get reused, more are added if that many are visible
+     */
+    private static final int DEFAULT_MAX_BAKED_CHUNKS = 16;
+
+    /**
+     * same as the default shader of SpriteCache, which isn't accessible from outside its package
+     */
+    private static final String VERTEX_SHADER = "attribute vec4 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+            + "attribute vec4 " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+            + "attribute vec2 " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+            + "uniform mat4 u_projectionViewMatrix;\n"
+            + "varying vec4 v_color;\n"
+            + "varying vec2 v_texCoords;\n"
+            + "void main()\n"
+            + "{\n"
+            + "   v_color = " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+            + "   v_color.a = v_color.a * (255.0/254.0);\n"
+            + "   v_texCoords = " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+            + "   gl_Position = u_projectionViewMatrix * " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+            + "}\n";
+    private static final String FRAGMENT_SHADER = "#ifdef GL_ES\n"
+            + "precision mediump float;\n"
+            + "#endif\n"
+            + "varying vec4 v_color;\n"
+            + "varying vec2 v_texCoords;\n"
+            + "uniform sampler2D u_texture;\n"
+            + "void main()\n"
+            + "{\n"
+            + "  gl_FragColor = v_color * texture2D(u_texture, v_texCoords);\n"
+            + "}";
+
+    private final MazeMap mazeMap;
+
+    /**
+     * shader shared by all caches, so we don't compile one per chunk
+     */
+    private final ShaderProgram shader;
+
+    private final int chunksX;
+    private final int chunksY;
+
+    /**
+     * cache slot each chunk is baked into, -1 if it isn't baked
+     */
+    private final int[] slotOfChunk;
+
+    private final List<SpriteCache> caches = new ArrayList<>();
+    private int[] chunkOfSlot = new int[0];
+    private int[] cacheIdOfSlot = new int[0];
+    private long[] lastUsedFrameOfSlot = new long[0];
+
+    private int maxBakedChunks = DEFAULT_MAX_BAKED_CHUNKS;
+    private long frame = 0;
+    private boolean disposed = false;
+
+    /**
+     * Creates an empty layer for the given maze map. Chunks are baked on demand in render
+     *
+     * @param mazeMap maze map whose tiles get drawn
+     */
+    public StaticTileLayer(MazeMap mazeMap){
+        this.mazeMap = mazeMap;
+        this.shader = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+        if(!shader.isCompiled()){
+            throw new IllegalArgumentException("Error compiling shader: " + shader.getLog());
+        }
+        this.chunksX = (mazeMap.getWidth() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.chunksY = (mazeMap.getHeight() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.slotOfChunk = new int[chunksX * chunksY];
+        Arrays.fill(slotOfChunk, -1);
+    }
+
+    /**
+     * draws all chunks overlapping the given tile range. must not be called between SpriteBatch begin and end.
+     * Does nothing once the layer is disposed
+     *
+     * @param camera camera used for the projection
+     * @param minX first visible tile column
+     * @param minY first visible tile row
+     * @param maxX last visible tile column
+     * @param maxY last visible tile row
+     */
+    public void render(OrthographicCamera camera, int minX, int minY, int maxX, int maxY){
+        if(disposed){
+            return;
+        }
+        frame++;
+        int minChunkX = Math.max(0, minX / CHUNK_SIZE);
+        int minChunkY = Math.max(0, minY / CHUNK_SIZE);
+        int maxChunkX = Math.min(chunksX - 1, maxX / CHUNK_SIZE);
+        int maxChunkY = Math.min(chunksY - 1, maxY / CHUNK_SIZE);
+
+        // bake everything first, so baking doesn't happen while a cache is drawing
+        for(int chunkY = minChunkY; chunkY <= maxChunkY; chunkY++){
+            for(int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++){
+                int slot = bake(chunkY * chunksX + chunkX);
+                lastUsedFrameOfSlot[slot] = frame;
+            }
+        }
+
+        for(int chunkY = minChunkY; chunkY <= maxChunkY; chunkY++){
+            for(int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++){
+                int slot = slotOfChunk[chunkY * chunksX + chunkX];
+                SpriteCache cache = caches.get(slot);
+                cache.setProjectionMatrix(camera.combined);
+                cache.begin();
+                cache.draw(cacheIdOfSlot[slot]);
+                cache.end();
+            }
+        }
+    }
+
+    /**
+     * makes sure the given chunk is baked into a cache
+     *
+     * @param chunk chunk index
+     * @return cache slot holding the chunk
+     */
+    private int bake(int chunk){
+        if(slotOfChunk[chunk] >= 0){
+            return slotOfChunk[chunk];
+        }
+        int slot = freeSlot();
+        SpriteCache cache = caches.get(slot);
+        cache.clear();
+        cache.beginCache();
+        int startX = (chunk % chunksX) * CHUNK_SIZE;
+        int startY = (chunk / chunksX) * CHUNK_SIZE;
+        int endX = Math.min(startX + CHUNK_SIZE, mazeMap.getWidth());
+        int endY = Math.min(startY + CHUNK_SIZE, mazeMap.getHeight());
+        for(int y = startY; y < endY; y++){
+            for(int x = startX; x < endX; x++){
+                // no Tile objects needed, the type has the texture
+                TileType type = mazeMap.getTileType(x, y);
+                if(type.hasStaticTexture()){
+                    cache.add(type.getTexture(x, y), x, y, TileType.SIZE, TileType.SIZE);
+                }
+            }
+        }
+        cacheIdOfSlot[slot] = cache.endCache();
+        chunkOfSlot[slot] = chunk;
+        slotOfChunk[chunk] = slot;
+        return slot;
+    }
+
+    /**
+     * @return a slot that can be (re)baked. creates a new cache if there is room, otherwise reuses the least recently drawn one
+     */
+    private int freeSlot(){
+        if(caches.size() < maxBakedChunks){
+            return addSlot();
+        }
+        int leastRecentlyUsed = 0;
+        for(int slot = 1; slot < caches.size(); slot++){
+            if(lastUsedFrameOfSlot[slot] < lastUsedFrameOfSlot[leastRecentlyUsed]){
+                leastRecentlyUsed = slot;
+            }
+        }
+        if(lastUsedFrameOfSlot[leastRecentlyUsed] == frame){
+            // everything is visible right now, so we need more caches
+            maxBakedChunks *= 2;
+            return addSlot();
+        }
+        slotOfChunk[chunkOfSlot[leastRecentlyUsed]] = -1;
+        return leastRecentlyUsed;
+    }
+
+    private int addSlot(){
+        int slot = caches.size();
+        caches.add(new SpriteCache(CHUNK_SIZE * CHUNK_SIZE, shader, true));
+        chunkOfSlot = Arrays.copyOf(chunkOfSlot, slot + 1);
+        cacheIdOfSlot = Arrays.copyOf(cacheIdOfSlot, slot + 1);
+        lastUsedFrameOfSlot = Arrays.copyOf(lastUsedFrameOfSlot, slot + 1);
+        return slot;
+    }
+
+    /**
+     * @return number of chunk caches allocated so far
+     */
+    public int getCacheCount() {
+        return caches.size();
+    }
+
+    @Override
+    public void dispose() {
+        if(disposed){
+            return;
+        }
+        disposed = true;
+        for(SpriteCache cache : caches){
+            cache.dispose();
+        }
+        caches.clear();
+        // no chunk is baked anymore, the slots point into the caches that were just cleared
+        Arrays.fill(slotOfChunk, -1);
+        chunkOfSlot = new int[0];
+        cacheIdOfSlot = new int[0];
+        lastUsedFrameOfSlot = new long[0];
+        shader.dispose();
+    }
+}
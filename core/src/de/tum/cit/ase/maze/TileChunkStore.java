@@ -0,0 +1,211 @@
+package de.tum.cit.ase.maze;
+
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.ChainShape;
+import com.badlogic.gdx.physics.box2d.FixtureDef;
+import com.badlogic.gdx.physics.box2d.World;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TileChunkStore holds the Box2D bodies of the walls of a maze map, which block the light, in chunks of CHUNK_SIZE x CHUNK_SIZE cells.
+ *
+ * The chunks are backed by the MazeGrid of the map. A chunk's bodies are only created when the chunk is retained,
+ * and the least recently used chunks are dropped again once more than maxResidentChunks exist.
+ * That way only the walls around the player live in the Box2D world, no matter how big the maze is.
+ * Chunks used since the last call to retain() are never evicted, the limit grows instead.
+ *
+ * A chunk is a single static body. Its fixtures are ChainShape loops around the walls of the chunk
+ * (see WallContourBuilder), so a light's rays test a few outline segments instead of a box per wall cell.
+ *
+ * The tiles themselves don't need chunks, MazeMap derives them from the grid (see TileType).
+ */
+public class TileChunkStore {
+
+    /**
+     * side length of a chunk in tiles
+     */
+    public static final int CHUNK_SIZE = 32;
+
+    /**
+     * how many chunks can exist at the same time before old ones are evicted. 128 chunks are about 130000 cells
+     */
+    public static final int DEFAULT_MAX_RESIDENT_CHUNKS = 128;
+
+    private final MazeGrid grid;
+    private final World world;
+
+    private final int width;
+    private final int height;
+    private final int chunksX;
+    private final int chunksY;
+
+    /**
+     * wall bodies of each resident chunk, empty if the chunk has no walls. null if not resident
+     */
+    private final List<List<Body>> chunkBodies;
+
+    /**
+     * when each chunk was used last, in ticks of useCounter
+     */
+    private final long[] lastUsedOfChunk;
+
+    /**
+     * indices of all resident chunks
+     */
+    private final List<Integer> residentChunks = new ArrayList<>();
+
+    private int maxResidentChunks;
+    private long useCounter = 0;
+
+    /**
+     * chunks used at or after this tick are in use this frame and can't be evicted
+     */
+    private long retainedSince = 0;
+
+    private int materializedChunks = 0;
+    private int evictedChunks = 0;
+
+    private final FixtureDef wallFixture;
+    private final WallContourBuilder contourBuilder;
+
+    /**
+     * Creates a store without any resident chunk
+     *
+     * @param grid cells of the maze
+     * @param world box2d world the wall bodies are created in
+     */
+    public TileChunkStore(MazeGrid grid, World world){
+        this.grid = grid;
+        this.world = world;
+        this.width = grid.getWidth();
+        this.height = grid.getHeight();
+        this.chunksX = (width + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.chunksY = (height + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.chunkBodies = new ArrayList<>(chunksX * chunksY);
+        for(int i = 0; i < chunksX * chunksY; i++){
+            chunkBodies.add(null);
+        }
+        this.lastUsedOfChunk = new long[chunksX * chunksY];
+        this.maxResidentChunks = DEFAULT_MAX_RESIDENT_CHUNKS;
+
+        // make walls impenetrable by light
+        // taken from https://stackoverflow.com/questions/18550123/libgdx-make-lights-ignore-bodies
+        wallFixture = new FixtureDef();
+        wallFixture.filter.groupIndex = MazeMap.WALL_FILTER;
+        wallFixture.filter.categoryBits = MazeMap.WALL_FILTER;
+        wallFixture.filter.maskBits = MazeMap.WALL_FILTER;
+        contourBuilder = new WallContourBuilder(grid);
+    }
+
+    /**
+     * Makes sure all chunks overlapping the given cells are resident and protects them from eviction until the next call.
+     * Called every frame with the area around the player, so the lights always find the walls
+     *
+     * @param minX first cell column
+     * @param minY first cell row
+     * @param maxX last cell column
+     * @param maxY last cell row
+     */
+    public void retain(int minX, int minY, int maxX, int maxY){
+        retainedSince = useCounter + 1;
+        int minChunkX = Math.max(0, minX / CHUNK_SIZE);
+        int minChunkY = Math.max(0, minY / CHUNK_SIZE);
+        int maxChunkX = Math.min(chunksX - 1, maxX / CHUNK_SIZE);
+        int maxChunkY = Math.min(chunksY - 1, maxY / CHUNK_SIZE);
+        for(int chunkY = minChunkY; chunkY <= maxChunkY; chunkY++){
+            for(int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++){
+                int chunk = chunkY * chunksX + chunkX;
+                if(chunkBodies.get(chunk) == null){
+                    materialize(chunk);
+                }
+                lastUsedOfChunk[chunk] = ++useCounter;
+            }
+        }
+    }
+
+    private void materialize(int chunk){
+        if(residentChunks.size() >= maxResidentChunks){
+            evictLeastRecentlyUsed();
+        }
+        int startX = (chunk % chunksX) * CHUNK_SIZE;
+        int startY = (chunk / chunksX) * CHUNK_SIZE;
+        List<Body> bodies = new ArrayList<>(1);
+        int endX = Math.min(startX + CHUNK_SIZE, width);
+        int endY = Math.min(startY + CHUNK_SIZE, height);
+        List<float[]> loops = contourBuilder.build(startX, startY, endX, endY);
+        if(!loops.isEmpty()){
+            bodies.add(createWallBody(loops));
+        }
+        chunkBodies.set(chunk, bodies);
+        residentChunks.add(chunk);
+        materializedChunks++;
+    }
+
+    /**
+     * creates a static body at the origin with one fixture per loop, the loops are in maze coordinates already
+     */
+    private Body createWallBody(List<float[]> loops){
+        BodyDef bodyDef = new BodyDef();
+        bodyDef.type = BodyDef.BodyType.StaticBody;
+        Body body = world.createBody(bodyDef);
+        for(float[] loop : loops){
+            ChainShape chainShape = new ChainShape();
+            chainShape.createLoop(loop);
+            wallFixture.shape = chainShape;
+            body.createFixture(wallFixture);
+            // box2d copies the shape into the fixture
+            chainShape.dispose();
+        }
+        wallFixture.shape = null;
+        return body;
+    }
+
+    private void evictLeastRecentlyUsed(){
+        int victimIndex = 0;
+        for(int i = 1; i < residentChunks.size(); i++){
+            if(lastUsedOfChunk[residentChunks.get(i)] < lastUsedOfChunk[residentChunks.get(victimIndex)]){
+                victimIndex = i;
+            }
+        }
+        int victim = residentChunks.get(victimIndex);
+        if(lastUsedOfChunk[victim] >= retainedSince){
+            // everything resident is in use right now, so allow more chunks instead
+            maxResidentChunks *= 2;
+            return;
+        }
+        residentChunks.remove(victimIndex);
+        for(Body body : chunkBodies.get(victim)){
+            world.destroyBody(body);
+        }
+        chunkBodies.set(victim, null);
+        evictedChunks++;
+    }
+
+    /**
+     * @return number of chunks that currently have wall bodies
+     */
+    public int getResidentChunkCount(){
+        return residentChunks.size();
+    }
+
+    /**
+     * @return how often a chunk was created
+     */
+    public int getMaterializedChunkCount() {
+        return materializedChunks;
+    }
+
+    /**
+     * @return how often a chunk was dropped to make room
+     */
+    public int getEvictedChunkCount() {
+        return evictedChunks;
+    }
+
+    public int getMaxResidentChunks() {
+        return maxResidentChunks;
+    }
+}
@@ -0,0 +1,181 @@
+package de.tum.cit.ase.maze;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TimerWheel runs callbacks after a delay of game time, like "extend the spikes in 4s".
+ *
+ * It's a hashed timer wheel: game time is cut into ticks of TICK_DURATION seconds and every timer is kept
+ * in the slot of the tick it's due in (modulo WHEEL_SIZE). Advancing the wheel only looks at the slots of the
+ * ticks that passed, so the cost of a frame depends on the timers in those slots, not on all scheduled timers.
+ * Timers further away than one turn of the wheel stay in their slot until their turn comes.
+ *
+ * Timer objects can be rescheduled as often as needed, so objects with repeating timers don't allocate.
+ * Not thread safe, must only be used from the game thread.
+ */
+public class TimerWheel {
+
+    /**
+     * length of a tick in seconds. timers fire at the first tick at or after their deadline
+     */
+    public static final float TICK_DURATION = 1f / 64f;
+
+    /**
+     * number of slots, a power of two. one turn of the wheel is WHEEL_SIZE * TICK_DURATION = 8 seconds
+     */
+    private static final int WHEEL_SIZE = 512;
+    private static final int MASK = WHEEL_SIZE - 1;
+
+    /**
+     * A callback that can be scheduled on a TimerWheel
+     */
+    public static class Timer {
+        private final Runnable callback;
+        private long deadlineTick;
+        private Timer previous;
+        private Timer next;
+        private boolean scheduled = false;
+
+        /**
+         * true while the timer is due in the current tick and its callback hasn't run yet
+         */
+        private boolean due = false;
+
+        /**
+         * @param callback called when the timer fires
+         */
+        public Timer(Runnable callback){
+            this.callback = callback;
+        }
+
+        /**
+         * @return true if the timer is waiting to fire
+         */
+        public boolean isScheduled() {
+            return scheduled;
+        }
+    }
+
+    /**
+     * first timer of each slot. timers of a slot form a doubly linked list, so they can be cancelled in constant time
+     */
+    private final Timer[] slots = new Timer[WHEEL_SIZE];
+
+    /**
+     * the last tick that was processed
+     */
+    private long currentTick = 0;
+
+    /**
+     * game time of the last advance
+     */
+    private double time = 0.0;
+
+    /**
+     * timers that are due in the tick being processed. reused, so advancing doesn't allocate
+     */
+    private final List<Timer> dueTimers = new ArrayList<>();
+
+    private int size = 0;
+    private long firedCount = 0;
+
+    /**
+     * Schedules the timer to fire after the given delay. A timer that is already scheduled is moved to the new deadline
+     *
+     * @param timer timer to schedule
+     * @param delay seconds of game time from now
+     */
+    public void schedule(Timer timer, float delay){
+        cancel(timer);
+        // fire at the first tick that isn't earlier than the deadline, but never in a tick that was already processed
+        timer.deadlineTick = Math.max(currentTick + 1, (long) Math.ceil((time + delay) / TICK_DURATION));
+        int slot = (int) (timer.deadlineTick & MASK);
+        timer.previous = null;
+        timer.next = slots[slot];
+        if(slots[slot] != null){
+            slots[slot].previous = timer;
+        }
+        slots[slot] = timer;
+        timer.scheduled = true;
+        size++;
+    }
+
+    /**
+     * Stops the timer from firing. Does nothing if it isn't scheduled
+     *
+     * @param timer timer to cancel
+     */
+    public void cancel(Timer timer){
+        timer.due = false;
+        if(!timer.scheduled){
+            return;
+        }
+        if(timer.previous != null){
+            timer.previous.next = timer.next;
+        }else{
+            slots[(int) (timer.deadlineTick & MASK)] = timer.next;
+        }
+        if(timer.next != null){
+            timer.next.previous = timer.previous;
+        }
+        timer.previous = null;
+        timer.next = null;
+        timer.scheduled = false;
+        size--;
+    }
+
+    /**
+     * Fires all timers that are due at the given game time. Callbacks may schedule timers again,
+     * those fire in a later tick at the earliest.
+     *
+     * @param time current game time in seconds
+     */
+    public void advance(double time){
+        this.time = time;
+        long targetTick = (long) (time / TICK_DURATION);
+        while(currentTick < targetTick){
+            currentTick++;
+            if(size == 0){
+                // nothing to fire, skip the empty ticks
+                currentTick = targetTick;
+                break;
+            }
+            // take the due timers out of the slot first, callbacks may schedule or cancel other timers
+            Timer timer = slots[(int) (currentTick & MASK)];
+            while(timer != null){
+                Timer next = timer.next;
+                if(timer.deadlineTick <= currentTick){
+                    cancel(timer);
+                    timer.due = true;
+                    dueTimers.add(timer);
+                }
+                timer = next;
+            }
+            for(int i = 0; i < dueTimers.size(); i++){
+                timer = dueTimers.get(i);
+                // skip timers that an earlier callback cancelled or rescheduled
+                if(timer.due){
+                    timer.due = false;
+                    firedCount++;
+                    timer.callback.run();
+                }
+            }
+            dueTimers.clear();
+        }
+    }
+
+    /**
+     * @return number of scheduled timers
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return number of timers that fired since the wheel was created
+     */
+    public long getFiredCount() {
+        return firedCount;
+    }
+}
@@ -0,0 +1,102 @@
+package de.tum.cit.ase.maze;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * UpdateScheduler keeps the game clock of a maze map, its TimerWheel and the set of GameObjects that have to be updated every frame.
+ *
+ * Objects are activated when they need ticking (running timers, AI) and are dropped again
+ * as soon as needsUpdate() returns false or they are destroyed. Most objects don't need ticking at all:
+ * cooldowns and animations compare timestamps of the game clock instead of adding up deltas,
+ * or schedule a timer that calls them back, so the cost of a frame depends on the number of active objects
+ * and firing timers, not on the size of the map.
+ */
+public class UpdateScheduler {
+
+    private final List<GameObject> activeObjects = new ArrayList<>();
+
+    /**
+     * objects activated while the active ones are updated. added at the end of the update
+     */
+    private final List<GameObject> activatedObjects = new ArrayList<>();
+
+    private boolean updating = false;
+
+    /**
+     * seconds of game time since the maze map was created. A double, so adding up small deltas doesn't lose precision
+     * after hours of play. A float sum of 1/60s steps is off by seconds after an hour, and can't tell 1/64s ticks apart after 36 hours
+     */
+    private double time = 0.0;
+
+    private final TimerWheel timers = new TimerWheel();
+
+    /**
+     * Schedules a gameObject for updates. Does nothing if it is already active
+     *
+     * @param gameObject object that needs ticking
+     */
+    public void activate(GameObject gameObject){
+        if(gameObject.scheduled){
+            return;
+        }
+        gameObject.scheduled = true;
+        if(updating){
+            activatedObjects.add(gameObject);
+        }else{
+            activeObjects.add(gameObject);
+        }
+    }
+
+    /**
+     * Advances the game clock, fires the timers that are due and updates all active objects.
+     * Objects that are destroyed or idle are dropped
+     *
+     * @param delta elapsed time
+     */
+    public void update(float delta){
+        time += delta;
+        timers.advance(time);
+        updating = true;
+        int i = 0;
+        while(i < activeObjects.size()){
+            GameObject gameObject = activeObjects.get(i);
+            if(!gameObject.isDestroyed()){
+                gameObject.update(delta);
+            }
+            if(gameObject.isDestroyed() || !gameObject.needsUpdate()){
+                // order doesn't matter, so swap the last one in instead of shifting the list
+                activeObjects.set(i, activeObjects.get(activeObjects.size() - 1));
+                activeObjects.remove(activeObjects.size() - 1);
+                gameObject.scheduled = false;
+            }else{
+                i++;
+            }
+        }
+        updating = false;
+        activeObjects.addAll(activatedObjects);
+        activatedObjects.clear();
+    }
+
+    /**
+     * @return seconds of game time since the maze map was created. Only advances while the game is running.
+     * Rounded to a float for the timestamps of the game objects, the clock itself keeps counting in double precision
+     */
+    public float getTime() {
+        return (float) time;
+    }
+
+    /**
+     * @return timers running on the game clock
+     */
+    public TimerWheel getTimers() {
+        return timers;
+    }
+
+    /**
+     * @return number of objects that are currently updated every frame
+     */
+    public int getActiveCount() {
+        return activeObjects.size();
+    }
+}
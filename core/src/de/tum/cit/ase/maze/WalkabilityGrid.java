@@ -0,0 +1,66 @@
+package de.tum.cit.ase.maze;
+
+/**
+ * WalkabilityGrid is a compact bitmap with one bit per cell of the maze map.
+ * A set bit means the cell can be walked on: its tile is walkable and so is the static object on it, if there is one.
+ *
+ * It's built once by the MazeMap and updated whenever a static object changes its walkable state (like spikes),
+ * so collision checks and AI can test cells with a few bit operations instead of asking the GameObjects.
+ */
+public class WalkabilityGrid {
+
+    private final int width;
+    private final int height;
+
+    /**
+     * one bit per cell, cell index is y * width + x
+     */
+    private final long[] bits;
+
+    /**
+     * Creates a grid where no cell is walkable
+     *
+     * @param width width of the maze map in tiles
+     * @param height height of the maze map in tiles
+     */
+    public WalkabilityGrid(int width, int height){
+        this.width = width;
+        this.height = height;
+        this.bits = new long[(int)(((long)width * height + 63) >>> 6)];
+    }
+
+    /**
+     * @param x cell x coordinate
+     * @param y cell y coordinate
+     * @return true if the cell is walkable. cells outside the map are never walkable
+     */
+    public boolean isWalkable(int x, int y){
+        if(x < 0 || y < 0 || x >= width || y >= height){
+            return false;
+        }
+        int index = y * width + x;
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * @param x cell x coordinate
+     * @param y cell y coordinate
+     * @param walkable new walkable state of the cell
+     */
+    public void setWalkable(int x, int y, boolean walkable){
+        int index = y * width + x;
+        if(walkable){
+            bits[index >>> 6] |= 1L << index;
+        }else{
+            bits[index >>> 6] &= ~(1L << index);
+        }
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,146 @@
+package de.tum.cit.ase.maze;
+
+import de.tum.cit.ase.maze.enums.GameObjectID;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * WallContourBuilder traces the outlines of the walls in an area of a MazeGrid, so they can be turned into
+ * a few Box2D ChainShape loops instead of one box per wall cell.
+ *
+ * Every side of a wall cell that doesn't touch another wall cell of the area is an edge of the outline.
+ * The edges run counter-clockwise around the walls (the wall is on the left) and are followed from corner to corner,
+ * straight runs become a single segment. Where two walls only touch at a corner the trace turns left,
+ * so each of them gets its own loop. A wall with a hole (a room enclosed by walls) gets an outer and an inner loop.
+ *
+ * Cells outside the area count as not being walls, so the outline of an area is closed along its border.
+ * The arrays are reused between calls, one builder is meant for the areas (chunks) of one maze.
+ */
+public class WallContourBuilder {
+
+    // directions of edges: 0 right, 1 up, 2 left, 3 down
+    private static final int[] DIRECTION_X = {1, 0, -1, 0};
+    private static final int[] DIRECTION_Y = {0, 1, 0, -1};
+
+    private final MazeGrid grid;
+
+    /**
+     * per corner of the area: bit d is set if an unused edge in direction d starts at the corner
+     */
+    private int[] outgoing = new int[0];
+
+    /**
+     * corners of the loop that's being traced, x and y alternating
+     */
+    private float[] loop = new float[64];
+
+    /**
+     * @param grid cells of the maze
+     */
+    public WallContourBuilder(MazeGrid grid){
+        this.grid = grid;
+    }
+
+    /**
+     * Traces the walls in the area
+     *
+     * @param startX first cell column
+     * @param startY first cell row
+     * @param endX column after the last one
+     * @param endY row after the last one
+     * @return one array per loop with the corners in maze coordinates, x and y alternating
+     */
+    public List<float[]> build(int startX, int startY, int endX, int endY){
+        int cornersX = endX - startX + 1;
+        int cornersY = endY - startY + 1;
+        if(outgoing.length < cornersX * cornersY){
+            outgoing = new int[cornersX * cornersY];
+        }else{
+            Arrays.fill(outgoing, 0, cornersX * cornersY, 0);
+        }
+
+        // edges of all wall cells, counter-clockwise around the wall
+        for(int y = startY; y < endY; y++){
+            for(int x = startX; x < endX; x++){
+                if(!isWall(x, y, startX, startY, endX, endY)){
+                    continue;
+                }
+                int corner = (y - startY) * cornersX + (x - startX);
+                if(!isWall(x, y - 1, startX, startY, endX, endY)){
+                    // bottom side, from the bottom left corner to the right
+                    outgoing[corner] |= 1;
+                }
+                if(!isWall(x + 1, y, startX, startY, endX, endY)){
+                    // right side, from the bottom right corner up
+                    outgoing[corner + 1] |= 1 << 1;
+                }
+                if(!isWall(x, y + 1, startX, startY, endX, endY)){
+                    // top side, from the top right corner to the left
+                    outgoing[corner + cornersX + 1] |= 1 << 2;
+                }
+                if(!isWall(x - 1, y, startX, startY, endX, endY)){
+                    // left side, from the top left corner down
+                    outgoing[corner + cornersX] |= 1 << 3;
+                }
+            }
+        }
+
+        List<float[]> loops = new ArrayList<>();
+        for(int corner = 0; corner < cornersX * cornersY; corner++){
+            while(outgoing[corner] != 0){
+                loops.add(trace(corner, Integer.numberOfTrailingZeros(outgoing[corner]), cornersX, startX, startY));
+            }
+        }
+        return loops;
+    }
+
+    /**
+     * follows the edges from the corner until it's back, using them up. Only corners where the direction changes are kept
+     */
+    private float[] trace(int start, int startDirection, int cornersX, int startX, int startY){
+        int length = 0;
+        int corner = start;
+        int direction = startDirection;
+        while(true){
+            outgoing[corner] &= ~(1 << direction);
+            corner += DIRECTION_Y[direction] * cornersX + DIRECTION_X[direction];
+            // the first edge is used up already, but the loop is only closed if the trace would continue with it
+            int edges = corner == start ? outgoing[corner] | (1 << startDirection) : outgoing[corner];
+            int next = nextDirection(edges, direction);
+            if(next != direction){
+                if(length + 2 > loop.length){
+                    loop = Arrays.copyOf(loop, loop.length * 2);
+                }
+                loop[length++] = startX + corner % cornersX;
+                loop[length++] = startY + corner / cornersX;
+            }
+            if(corner == start && next == startDirection){
+                return Arrays.copyOf(loop, length);
+            }
+            direction = next;
+        }
+    }
+
+    /**
+     * @return the direction to continue in: a left turn if possible, then straight on, then a right turn
+     */
+    private static int nextDirection(int edges, int direction){
+        int left = (direction + 1) & 3;
+        if((edges & (1 << left)) != 0){
+            return left;
+        }
+        if((edges & (1 << direction)) != 0){
+            return direction;
+        }
+        return (direction + 3) & 3;
+    }
+
+    private boolean isWall(int x, int y, int startX, int startY, int endX, int endY){
+        if(x < startX || y < startY || x >= endX || y >= endY){
+            return false;
+        }
+        return grid.get(x, y) == GameObjectID.WALL.getId();
+    }
+}
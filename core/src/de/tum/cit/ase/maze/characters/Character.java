@@ -34,6 +34,12 @@ public abstract class Character extends GameObject {
      */
     private boolean moving;
 
+    /**
+     * position at the start of the current simulation step, used to interpolate the drawn position between steps
+     */
+    private float previousX;
+    private float previousY;
+
     /**
      * Constructer arguments for the abstract character class that subclasses must provide
      *
@@ -51,6 +57,8 @@ public Character(MazeMap mazeMap, TextureRegion texture, float width, float heig
         this.characterSpeed = characterSpeed;
         this.direction = Direction.values()[random.nextInt(Direction.values().length)];
         this.moving = false;
+        this.previousX = position.x;
+        this.previousY = position.y;
     }
 
     /**
@@ -115,6 +123,41 @@ public void update(float delta){
         lastMoveDelta += delta;
     }
 
+    /**
+     * remembers the current position as the start of the next simulation step. Called by the GameSimulation before each step
+     */
+    public void storePreviousPosition(){
+        Position position = getPosition();
+        previousX = position.x;
+        previousY = position.y;
+    }
+
+    /**
+     * @param alpha how far rendering is between the previous and the current simulation step, 0 to 1
+     * @return x coordinate to draw the character at
+     */
+    public float getInterpolatedX(float alpha){
+        return previousX + (getPosition().x - previousX) * alpha;
+    }
+
+    /**
+     * @param alpha how far rendering is between the previous and the current simulation step, 0 to 1
+     * @return y coordinate to draw the character at
+     */
+    public float getInterpolatedY(float alpha){
+        return previousY + (getPosition().y - previousY) * alpha;
+    }
+
+    /**
+     * characters move and animate all the time, so they always need updates
+     *
+     * @return true
+     */
+    @Override
+    public boolean needsUpdate() {
+        return true;
+    }
+
     /**
      * Checks if the character is stuck.
      * @param delta The time elapsed since the last update.
@@ -1,6 +1,7 @@
 package de.tum.cit.ase.maze.characters;
 
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import de.tum.cit.ase.maze.FlowField;
 import de.tum.cit.ase.maze.MazeMap;
 import de.tum.cit.ase.maze.Position;
 
@@ -29,4 +30,33 @@ public Enemy(MazeMap mazeMap, TextureRegion texture, float width, float height,
         super(mazeMap, texture, width, height, walkable, health, position, characterSpeed);
     }
 
+    /**
+     * @return steps the enemy has to walk to reach the player's cell, FlowField.UNREACHED if the player is far away
+     */
+    protected int getPlayerDistance(){
+        return getMazeMap().getPlayerFlowField().getDistance(getCellX(), getCellY());
+    }
+
+    /**
+     * @return cell index of the next cell on the way to the player, -1 if the enemy is in the player's cell or far away
+     */
+    protected int getNextCellTowardsPlayer(){
+        FlowField flowField = getMazeMap().getPlayerFlowField();
+        return flowField.getNextCell(getCellX(), getCellY());
+    }
+
+    /**
+     * @return x coordinate of the cell the center of the enemy is in
+     */
+    protected int getCellX(){
+        return (int)(getPosition().x + getWidth() / 2f);
+    }
+
+    /**
+     * @return y coordinate of the cell the center of the enemy is in
+     */
+    protected int getCellY(){
+        return (int)(getPosition().y + getHeight() / 2f);
+    }
+
 }
@@ -1,12 +1,14 @@
 package de.tum.cit.ase.maze.characters;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Sound;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import de.tum.cit.ase.maze.Assets;
+import de.tum.cit.ase.maze.GridPathfinder;
 import de.tum.cit.ase.maze.MazeMap;
 import de.tum.cit.ase.maze.Position;
+import de.tum.cit.ase.maze.SoundService;
+import de.tum.cit.ase.maze.Sprites;
 import de.tum.cit.ase.maze.enums.CollisionActions;
 import de.tum.cit.ase.maze.enums.Direction;
 
@@ -27,8 +29,8 @@ public class Ghost extends Enemy {
     private static final boolean walkable = true;
     private static final float initialCharacterSpeed = 0.75f;
 
-    private static final Texture ghostSheet = new Texture(Gdx.files.internal("mobs.png"));
-    private static final TextureRegion texture = new TextureRegion(new Texture(Gdx.files.internal("mobs.png")),96,64,tilePixels,tilePixels);
+    private static final TextureRegion ghostSheet = Sprites.sheet("mobs.png");
+    private static final TextureRegion texture = Sprites.region("mobs.png", 96,64,tilePixels,tilePixels);
 
     // Animations for different movement directions
     private static final TextureRegion[] walkDownFrames = {
@@ -59,16 +61,47 @@ public class Ghost extends Enemy {
     private static final Animation<TextureRegion> walkLeftAnimation = new Animation<>(0.15f, walkLeftFrames);
 
     private static final List<CollisionActions> collisionActions = List.of(CollisionActions.TAKE_DAMAGE);
-    private static final Sound collisionSoundEffect = Gdx.audio.newSound(Gdx.files.internal("ghost_sound_effect.mp3"));
+    private static final Sound collisionSoundEffect = Assets.sound("ghost_sound_effect.mp3");
 
-    private static final Sound engagedSoundEffect = Gdx.audio.newSound(Gdx.files.internal("ghostbreath.mp3"));
+    private static final Sound engagedSoundEffect = Assets.sound("ghostbreath.mp3");
+
+    /**
+     * how many cells of a path are kept. Longer paths are walked in parts
+     */
+    private static final int pathCapacity = 32;
+
+    /**
+     * how many cells the pathfinder may look at for a path to a wander target
+     */
+    private static final int wanderBudget = 256;
+
+    /**
+     * the ghost charges at the player if it could reach the player in fewer steps
+     */
+    private static final int engageDistance = 4;
+
+    /**
+     * how far away wander targets are picked, in cells
+     */
+    private static final int wanderRadius = 6;
 
     private float animationTime;
     private float timeSinceLastDamage;
-    private final float directionChangeInterval = 1.75f;
+
+    /**
+     * a new wander target is picked at the latest after this time, even if the old one wasn't reached
+     */
+    private final float directionChangeInterval = 8f;
 
     private float timeSinceLastDirectionChange = 0.0f; // Track time since last direction change
 
+    /**
+     * cells the ghost walks along, as cell indices of the maze map. Reused for every path
+     */
+    private final int[] path = new int[pathCapacity];
+    private int pathLength = 0;
+    private int pathIndex = 0;
+
     private final Random random = new Random();
     private static final float boundingBoxWidthFactor = 0.6f; // 20% off on both sides
     private static final float boundingBoxWidthOffset = (1f - boundingBoxWidthFactor) / 2f * width;
@@ -99,19 +132,23 @@ public boolean move(Direction direction, float delta) {
     @Override
     public void takeAction(float delta) {
         // move towards players
-        if(distance(getMazeMap().getPlayer()) < 4){
+        if(getPlayerDistance() < engageDistance){
             // charge at player
             if(!engaged){
                 System.out.println("Ghost engaging!");
                 engaged = true;
                 if(timeSinceLastEngage > 5){
-                    engagedSoundEffect.play();
+                    getMazeMap().getSounds().play(engagedSoundEffect, SoundService.PRIORITY_NORMAL, getPosition().x, getPosition().y, engageDistance);
                 }
                 timeSinceLastEngage = 0f;
             }
             moveToPlayer(delta);
         }else{
-            engaged = false;
+            if(engaged){
+                // lost the player, wander from here
+                engaged = false;
+                clearPath();
+            }
             moveRandomDirection(delta);
         }
 
@@ -176,70 +213,108 @@ public TextureRegion getTexture(){
     }
 
     /**
-     * Moves the the ghost in a random direction.
-     * It selects a random direction from the available directions and assigns it to the ghost.
-     * If the time since the last direction change exceeds the direction change interval,
-     * it changes the direction to a new random direction, ensuring it's different from the current one.
-     * This method is typically used to add unpredictability to the movement of the ghost in the game.
+     * Wanders through the maze: walks along the corridors to a random cell nearby, then picks the next one.
+     * A new target is also picked if the old one takes too long or the way got blocked.
      *
      * @param delta time elapsed
      */
     public void moveRandomDirection(float delta) {
-
-         if(timeSinceLastDirectionChange > directionChangeInterval){
-             int randomDirection;
-             // change ghost direction
-             randomDirection = random.nextInt(Direction.values().length);
-             Direction direction = Direction.values()[randomDirection];
-             // While the current direction matches the randomly chosen direction,
-             // pick a new random direction until it's different.
-             while(getDirection() == direction){
-                 randomDirection = random.nextInt(Direction.values().length);
-                 direction = Direction.values()[randomDirection];
-             }
-             setDirection(direction);
-             animationTime = 0f;
-             timeSinceLastDirectionChange = 0.0f;
-         }
-         if(!move(getDirection(), delta)){
-             // turn around if move doesn't work
-             if(isStuck(delta)){
-                 // ghost stuck, probably from chasing player so keep chasing until unstuck
-                 moveToPlayer(delta);
-             }
-         }
+        if(pathIndex >= pathLength || timeSinceLastDirectionChange > directionChangeInterval){
+            int cellX = getCellX();
+            int cellY = getCellY();
+            // a few tries to find a walkable cell, otherwise try again next step
+            for(int i = 0; i < 8; i++){
+                int targetX = cellX + random.nextInt(2 * wanderRadius + 1) - wanderRadius;
+                int targetY = cellY + random.nextInt(2 * wanderRadius + 1) - wanderRadius;
+                if((targetX != cellX || targetY != cellY) && getMazeMap().getWalkabilityGrid().isWalkable(targetX, targetY)){
+                    findPath(targetX, targetY, wanderBudget);
+                    animationTime = 0f;
+                    timeSinceLastDirectionChange = 0.0f;
+                    break;
+                }
+            }
+        }
+        followPath(delta);
     }
 
     /**
-     * moves the ghost in the direction of the player ignoring obstacles
+     * Chases the player along the corridors, one cell at a time in the direction of the player's flow field.
+     * Once the ghost is in the player's cell it goes straight at the player, walls still block it
      *
      * @param delta time elapsed
      */
     public void moveToPlayer(float delta){
-        Player player = getMazeMap().getPlayer();
-        Position myPosition = getPosition();
-        float distance = distance(player);
-        float xMove = ((player.getPosition().x - myPosition.x) / distance) * getCharacterSpeed() * delta;
-        float yMove = ((player.getPosition().y - myPosition.y) / distance)  * getCharacterSpeed() * delta;
-
-        // set character direction based on the biggest move distance
-        // so we render the correct model
-        if(Math.abs(xMove) > Math.abs(yMove)){
-            if(xMove < 0){
-                setDirection(Direction.LEFT);
-            }else{
-                setDirection(Direction.RIGHT);
-            }
+        int nextCell = getNextCellTowardsPlayer();
+        if(nextCell >= 0){
+            int width = getMazeMap().getWidth();
+            moveTowards(nextCell % width, nextCell / width, delta);
         }else{
-            if(yMove < 0){
-                setDirection(Direction.DOWN);
-            }else{
-                setDirection(Direction.UP);
+            Position playerPosition = getMazeMap().getPlayer().getPosition();
+            moveTowards(playerPosition.x, playerPosition.y, delta);
+        }
+    }
+
+    /**
+     * searches a path from the ghost's cell to the target cell with the maze map's pathfinder
+     */
+    private void findPath(int targetX, int targetY, int budget){
+        GridPathfinder pathfinder = getMazeMap().getPathfinder();
+        pathLength = pathfinder.findPath(getCellX(), getCellY(), targetX, targetY, budget, path);
+        pathIndex = 0;
+    }
+
+    private void clearPath(){
+        pathLength = 0;
+        pathIndex = 0;
+    }
+
+    /**
+     * walks towards the next cell of the path. If the way is blocked (e.g. by spikes), the path is dropped
+     */
+    private void followPath(float delta){
+        if(pathIndex >= pathLength){
+            return;
+        }
+        int width = getMazeMap().getWidth();
+        float targetX = path[pathIndex] % width;
+        float targetY = path[pathIndex] / width;
+        if(!moveTowards(targetX, targetY, delta)){
+            clearPath();
+        }else if(getPosition().x == targetX && getPosition().y == targetY){
+            pathIndex++;
+        }
+    }
+
+    /**
+     * Moves one step towards the target position. The smaller offset is fixed first, so the ghost lines up
+     * with a corridor before walking along it and its bounding box doesn't catch the corners.
+     * Arrives exactly at the target once it's closer than one step
+     *
+     * @param targetX x coordinate to walk to
+     * @param targetY y coordinate to walk to
+     * @param delta time elapsed
+     * @return false if a wall or another obstacle blocked the move
+     */
+    private boolean moveTowards(float targetX, float targetY, float delta){
+        Position position = getPosition();
+        float dx = targetX - position.x;
+        float dy = targetY - position.y;
+        float moveDistance = getCharacterSpeed() * delta;
+        if(Math.abs(dx) <= moveDistance && Math.abs(dy) <= moveDistance){
+            if(!getMazeMap().characterAttemptMoveTo(this, targetX, targetY)){
+                return false;
             }
+            updatePosition(targetX, targetY);
+            setMoving();
+            return true;
+        }
+        Direction direction;
+        if(Math.abs(dx) > moveDistance && (Math.abs(dy) <= moveDistance || Math.abs(dx) < Math.abs(dy))){
+            direction = dx > 0 ? Direction.RIGHT : Direction.LEFT;
+        }else{
+            direction = dy > 0 ? Direction.UP : Direction.DOWN;
         }
-        // attempt the move to trigger collisions with player, but ignore return value as we move anyway
-        getMazeMap().characterAttemptMoveTo(this, myPosition.x + xMove, myPosition.y + yMove);
-        updatePosition(myPosition.x + xMove, myPosition.y + yMove);
+        return move(direction, delta);
     }
 
     public void updateBoundingBox(){
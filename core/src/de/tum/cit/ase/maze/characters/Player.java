@@ -1,22 +1,21 @@
 package de.tum.cit.ase.maze.characters;
 
-import box2dLight.PointLight;
-import box2dLight.RayHandler;
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Sound;
-import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
+import de.tum.cit.ase.maze.Assets;
 import de.tum.cit.ase.maze.GameObject;
 import de.tum.cit.ase.maze.MazeMap;
 import de.tum.cit.ase.maze.Position;
+import de.tum.cit.ase.maze.SoundService;
+import de.tum.cit.ase.maze.Sprites;
 import de.tum.cit.ase.maze.enums.Direction;
 import de.tum.cit.ase.maze.items.Health;
 import de.tum.cit.ase.maze.tiles.Exit;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -52,9 +51,9 @@ public class Player extends Character {
     private static final float attackDamageTime = 0.3f;
 
     // Textures and animations for different player actions
-    private static final Texture characterSheet = new Texture(Gdx.files.internal("character.png"));
+    private static final TextureRegion characterSheet = Sprites.sheet("character.png");
 
-    private static final Texture bloodSheet = new Texture(Gdx.files.internal("dropsplash.png"));
+    private static final TextureRegion bloodSheet = Sprites.sheet("dropsplash.png");
 
     private static final TextureRegion[] bloodFrames = {
             new TextureRegion(bloodSheet, 0, 0 , 640, 800),
@@ -69,7 +68,7 @@ public class Player extends Character {
     private static final Animation<TextureRegion> bloodSplashAnimation = new Animation<>(0.15f, bloodFrames);
 
 
-    private static final Texture fireSheet = new Texture(Gdx.files.internal("objects.png"));
+    private static final TextureRegion fireSheet = Sprites.sheet("objects.png");
 
     private static final TextureRegion[] fireFrames = {
             new TextureRegion(fireSheet, 4*16, 40 , 16, 10),
@@ -167,7 +166,7 @@ public class Player extends Character {
     };
     private static final Animation<TextureRegion> stretchDownAnimation = new Animation<>(0.35f, stretchDownFrames);
 
-    private static final Texture dashTexture = new Texture(Gdx.files.internal("DashSprite.png"));
+    private static final TextureRegion dashTexture = Sprites.sheet("DashSprite.png");
     private static final TextureRegion[] dashFrames = {
             new TextureRegion(dashTexture, 0, 0, 512, 128),
             new TextureRegion(dashTexture, 0, 128, 512, 128),
@@ -198,12 +197,14 @@ public class Player extends Character {
 
     private Rectangle attackBoundingBox = new Rectangle();
 
-    private RayHandler lightHandler;
-    private PointLight pointLight;
+    /**
+     * game objects hit by the attack, filled again on every check
+     */
+    private final List<GameObject> attackCollisions = new ArrayList<>();
 
-    private static final Sound dashSoundEffect = Gdx.audio.newSound(Gdx.files.internal("dash_2.wav"));
+    private static final Sound dashSoundEffect = Assets.sound("dash_2.wav");
 
-    private static final Sound attackSoundEffect = Gdx.audio.newSound(Gdx.files.internal("attack_sound.wav"));
+    private static final Sound attackSoundEffect = Assets.sound("attack_sound.wav");
     private float bleedingTime;
     private boolean lightCollected = false;
 
@@ -224,14 +225,6 @@ public Player(MazeMap mazeMap, Position position) {
         stuckDuration = -1f;
         this.setDirection(Direction.DOWN);
         this.dashDirection = getDirection();
-        // https://stackoverflow.com/questions/31388986/libgdx-and-box2dlights-too-bright-colors-grayed-out
-        RayHandler.useDiffuseLight(true);
-        // add lighting taken from:
-        // https://stackoverflow.com/questions/45973258/libgdx-basic-2d-lighting-dont-know-what-to-do
-        lightHandler = new RayHandler(mazeMap.getWorld());
-        pointLight = new PointLight(lightHandler,200, new Color(1,1f,1f,1f),8,position.x + getWidth()/2f,position.y+getHeight()/2f);
-        pointLight.setContactFilter(MazeMap.WALL_FILTER, MazeMap.WALL_FILTER, MazeMap.WALL_FILTER);
-        pointLight.setSoftnessLength(1.5f);
     }
 
 
@@ -272,7 +265,7 @@ public boolean move(Direction direction, float delta) {
      */
     public void attack(){
         if(!isAttacking) {
-            attackSoundEffect.play(); // Play the attack sound effect
+            getMazeMap().getSounds().play(attackSoundEffect, SoundService.PRIORITY_HIGH); // Play the attack sound effect
             System.out.println("attack!");
             isAttacking = true; // Set the player entity to attacking state.
             attackTime = 0f; // Reset attack time.
@@ -326,11 +319,11 @@ public void updateAttackBoundingBox(){
      */
     public void checkAttack(){
         // Retrieve a list of game objects colliding with the player's attack bounding box.
-        List<GameObject> collisions = getMazeMap().getCollisions(attackBoundingBox, this);
+        getMazeMap().getCollisions(attackBoundingBox, this, attackCollisions);
 
         // Iterate through the colliding game objects and apply damage to them based on the player's attack strength.
-        for(var gameObject : collisions){
-            gameObject.takeDamage(getDamageDone());
+        for(int i = 0; i < attackCollisions.size(); i++){
+            attackCollisions.get(i).takeDamage(getDamageDone());
         }
     }
 
@@ -364,7 +357,7 @@ public void dash(){
             float nextPosition;
             boolean collision = false;
             attack();
-            dashSoundEffect.play();
+            getMazeMap().getSounds().play(dashSoundEffect, SoundService.PRIORITY_HIGH);
             while(!collision && distanceMoved < dashDistance){
                 Position position = getPosition();
                 switch(dashDirection){
@@ -443,14 +436,13 @@ public void collision(GameObject gameObject) {
         }
 
         // Iterate through each collision action defined for the collided game object.
-        for (var collisionAction : collisionActions) {
-            switch (collisionAction) {
+        // by index, this runs for every touched object of every move and an iterator would allocate
+        for (int i = 0; i < collisionActions.size(); i++) {
+            switch (collisionActions.get(i)) {
                 case TAKE_DAMAGE:
                     // Take damage from the collided game object and play collision sound effect.
                     takeDamage(gameObject.getDamageDone());
-                    if(gameObject.getCollisionSoundEffect() != null){
-                        gameObject.getCollisionSoundEffect().play();
-                    }
+                    getMazeMap().getSounds().play(gameObject.getCollisionSoundEffect(), SoundService.PRIORITY_NORMAL);
                     bleedingTime = 0f;
                     break;
                 case STUCK:
@@ -461,20 +453,16 @@ public void collision(GameObject gameObject) {
                 case PICK_UP:
                     // If the key has not been collected, collect it, destroy the game object, and play collision sound effect.
                     if (!keyCollected){
-                        if(gameObject.getCollisionSoundEffect() != null){
-                            gameObject.getCollisionSoundEffect().play();
-                        }
+                        getMazeMap().getSounds().play(gameObject.getCollisionSoundEffect(), SoundService.PRIORITY_HIGH);
                         keyCollected = true;
-                        Exit.doorsOpenSoundEffect.play();
+                        getMazeMap().getSounds().play(Exit.doorsOpenSoundEffect, SoundService.PRIORITY_HIGH);
                         gameObject.destroy();
                         System.out.println("Found the key");
                     }
                     break;
                 case HEART_UP:
                     if (gameObject instanceof Health && !((Health) gameObject).isHealthCollected()){
-                        if(gameObject.getCollisionSoundEffect() != null){
-                            gameObject.getCollisionSoundEffect().play();
-                        }
+                        getMazeMap().getSounds().play(gameObject.getCollisionSoundEffect(), SoundService.PRIORITY_HIGH);
                         setHealth(Math.max(getHealth()+1,0));
                         ((Health) gameObject).setHealthCollected(true);
                         gameObject.destroy();
@@ -483,9 +471,7 @@ public void collision(GameObject gameObject) {
                     break;
                 case LIGHT_ON:
                     if (!lightCollected){
-                        if(gameObject.getCollisionSoundEffect() != null){
-                            gameObject.getCollisionSoundEffect().play();
-                        }
+                        getMazeMap().getSounds().play(gameObject.getCollisionSoundEffect(), SoundService.PRIORITY_HIGH);
                         lightCollected = true;
                         gameObject.destroy();
                         System.out.println("Found the Light");
@@ -494,9 +480,7 @@ public void collision(GameObject gameObject) {
                 case EXIT:
                     // Play collision sound effect and set victory state if the key has been collected.
                     if (keyCollected) {
-                        if(gameObject.getCollisionSoundEffect() != null){
-                            gameObject.getCollisionSoundEffect().play();
-                        }
+                        getMazeMap().getSounds().play(gameObject.getCollisionSoundEffect(), SoundService.PRIORITY_HIGH);
                         isVictory = true;
                     }
                     break;
@@ -504,13 +488,6 @@ public void collision(GameObject gameObject) {
         }
     }
 
-    @Override
-    public void updatePosition(float x, float y){
-        super.updatePosition(x, y);
-
-        pointLight.setPosition(x + getWidth()/2f, y + getHeight()/2f );
-    }
-
     /**
      * override updateBoundingBox as boundingBox is supposed to be slightly smaller than texture and texture width changes during attack
      */
@@ -529,13 +506,15 @@ public void updateBoundingBox(){
      *
      * @param x coordinate of new position
      * @param y coordinate of new position
+     * @param boundingBox rectangle the result is written to
      * @return boundingBox at that position
      */
-    public Rectangle getBoundingBoxAtPosition(float x, float y) {
+    @Override
+    public Rectangle getBoundingBoxAtPosition(float x, float y, Rectangle boundingBox) {
         if(isAttacking){
-            return new Rectangle(x + boundingBoxWidthOffset, y + boundingBoxHeighthOffset, getWidth() * 0.5f * boundingBoxWidthFactor, getHeight() * boundingBoxHeightFactor);
+            return boundingBox.set(x + boundingBoxWidthOffset, y + boundingBoxHeighthOffset, getWidth() * 0.5f * boundingBoxWidthFactor, getHeight() * boundingBoxHeightFactor);
         }else{
-            return new Rectangle(x + boundingBoxWidthOffset, y + boundingBoxHeighthOffset, getWidth() * boundingBoxWidthFactor, getHeight() * boundingBoxHeightFactor);
+            return boundingBox.set(x + boundingBoxWidthOffset, y + boundingBoxHeighthOffset, getWidth() * boundingBoxWidthFactor, getHeight() * boundingBoxHeightFactor);
         }
 
     }
@@ -751,8 +730,4 @@ public Rectangle getAttackBoundingBox(){
         return attackBoundingBox;
     }
 
-    public RayHandler getLightHandler() {
-        return lightHandler;
-    }
-
 }
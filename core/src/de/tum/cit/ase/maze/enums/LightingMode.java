@@ -0,0 +1,13 @@
+package de.tum.cit.ase.maze.enums;
+
+/**
+ * The LightingMode enum represents how the GameScreen darkens what the player can't see.
+ * RAYS casts box2dlights rays against the wall bodies (PlayerLight), FIELD_OF_VIEW computes the visible tiles
+ * on the grid and darkens every tile by itself (FieldOfViewOverlay), which scales to huge mazes.
+ */
+
+public enum LightingMode {
+    RAYS,
+    FIELD_OF_VIEW;
+
+}
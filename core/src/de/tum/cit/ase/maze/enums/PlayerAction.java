@@ -0,0 +1,12 @@
+package de.tum.cit.ase.maze.enums;
+
+/**
+ * The PlayerAction enum represents one-shot player inputs like a key press for dashing.
+ * They are queued by the GameScreen and carried out by the GameSimulation at the start of its next step.
+ */
+
+public enum PlayerAction {
+    DASH,
+    ATTACK;
+
+}
@@ -0,0 +1,19 @@
+package de.tum.cit.ase.maze.exceptions;
+
+/**
+ * The `MazeFormatException` class is an exception that is thrown when
+ * a maze file can't be read because its content is malformed.
+ * This exception is a subclass of the general Exception class.
+ *
+ */
+
+public class MazeFormatException extends Exception{
+
+    /**
+     * Constructs a new `MazeFormatException` with the specified error message.
+     * @param errorMessage A string describing the specific error condition.
+     */
+    public MazeFormatException(String errorMessage) {
+        super(errorMessage);
+    }
+}
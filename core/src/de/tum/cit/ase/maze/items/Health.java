@@ -1,14 +1,14 @@
 package de.tum.cit.ase.maze.items;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Sound;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.utils.Array;
+import de.tum.cit.ase.maze.Assets;
 import de.tum.cit.ase.maze.GameObject;
 import de.tum.cit.ase.maze.MazeMap;
 import de.tum.cit.ase.maze.Position;
+import de.tum.cit.ase.maze.Sprites;
 import de.tum.cit.ase.maze.enums.CollisionActions;
 import de.tum.cit.ase.maze.traps.Fire;
 
@@ -28,7 +28,7 @@ public class Health extends GameObject {
     private static final boolean walkable = true;
 
     // Texture representing the single heart
-    public static final TextureRegion texture = new TextureRegion(new Texture(Gdx.files.internal("objects.png")),48,0,tilePixels,tilePixels);
+    public static final TextureRegion texture = Sprites.region("objects.png", 48,0,tilePixels,tilePixels);
 
     // Animation for the heart, making it look dynamic
     private static final Animation<TextureRegion> heartAnimation = Health.loadAdditionalHeartAnimation(); //Burak: I want that single heart looks like an animation
@@ -37,13 +37,16 @@ public class Health extends GameObject {
     private static final List<CollisionActions> collisionActions = List.of(CollisionActions.HEART_UP);
 
     // Sound effect played upon collision with a Health object
-    private static final Sound collisionSoundEffect = Gdx.audio.newSound(Gdx.files.internal("heart_collect_sound.mp3"));
-    private float animationTime;
+    private static final Sound collisionSoundEffect = Assets.sound("heart_collect_sound.mp3");
+    /**
+     * game time the animation started at
+     */
+    private float animationStartTime;
     private boolean healthCollected = false;
 
     // Load additional heart animation frames
     private static Animation<TextureRegion> loadAdditionalHeartAnimation(){
-        Texture objectSheet = new Texture(Gdx.files.internal("objects.png"));
+        TextureRegion objectSheet = Sprites.sheet("objects.png");
         Array<TextureRegion> hearts = new Array<>(TextureRegion.class);
         int frameWidth = 16;
         int frameHeight = 16;
@@ -66,7 +69,7 @@ private static Animation<TextureRegion> loadAdditionalHeartAnimation(){
     public Health(MazeMap mazeMap, Position position){
         super(mazeMap, texture, width, height, position, walkable, Integer.MAX_VALUE);
         // pick a random starting point for the animation
-        animationTime = (float)(Math.random() * heartAnimation.getKeyFrames().length * heartAnimation.getAnimationDuration());
+        animationStartTime = mazeMap.getTime() - (float)(Math.random() * heartAnimation.getKeyFrames().length * heartAnimation.getAnimationDuration());
     }
 
     /**
@@ -89,18 +92,7 @@ public Sound getCollisionSoundEffect(){
 
     @Override
     public TextureRegion getTexture(){
-        return heartAnimation.getKeyFrame(animationTime, true);
-    }
-
-    /**
-     * Updates the Health object's animation time and time passed since the last damage taken.
-     *
-     * @param delta the time passed since the last frame was rendered
-     */
-    @Override
-    public void update(float delta){
-        super.update(delta);
-        animationTime += delta;
+        return heartAnimation.getKeyFrame(getMazeMap().getTime() - animationStartTime, true);
     }
 
     public boolean isHealthCollected() {
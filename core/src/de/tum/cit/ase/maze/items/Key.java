@@ -1,12 +1,12 @@
 package de.tum.cit.ase.maze.items;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Sound;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import de.tum.cit.ase.maze.Assets;
 import de.tum.cit.ase.maze.GameObject;
 import de.tum.cit.ase.maze.MazeMap;
 import de.tum.cit.ase.maze.Position;
+import de.tum.cit.ase.maze.Sprites;
 import de.tum.cit.ase.maze.enums.CollisionActions;
 
 import java.util.List;
@@ -25,7 +25,7 @@ public class Key extends GameObject {
     private static final boolean walkable = true;
 
     // Texture representing the graphical appearance of the key
-    public static final TextureRegion texture = new TextureRegion(new Texture(Gdx.files.internal("KeyIcons.png")),32,0,tilePixels,tilePixels);
+    public static final TextureRegion texture = Sprites.region("KeyIcons.png", 32,0,tilePixels,tilePixels);
 
     // List of collision actions associated with the key
     private static final List<CollisionActions> collisionActions = List.of(CollisionActions.PICK_UP);
@@ -46,7 +46,7 @@ public List<CollisionActions> getCollisionActions() {
     }
 
     // Sound effect played when the key is picked up
-    private static final Sound collisionSoundEffect = Gdx.audio.newSound(Gdx.files.internal("key_pickup.mp3"));
+    private static final Sound collisionSoundEffect = Assets.sound("key_pickup.mp3");
 
     public Sound getCollisionSoundEffect(){
         return collisionSoundEffect;
@@ -1,12 +1,12 @@
 package de.tum.cit.ase.maze.items;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Sound;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import de.tum.cit.ase.maze.Assets;
 import de.tum.cit.ase.maze.GameObject;
 import de.tum.cit.ase.maze.MazeMap;
 import de.tum.cit.ase.maze.Position;
+import de.tum.cit.ase.maze.Sprites;
 import de.tum.cit.ase.maze.enums.CollisionActions;
 
 import java.util.List;
@@ -25,7 +25,7 @@ public class Lighting extends GameObject {
     private static final boolean walkable = true;
 
     // Texture representing the graphical appearance of the light bulb
-    public static final TextureRegion texture = new TextureRegion(new Texture(Gdx.files.internal("light_bulb.png")),32,32,tilePixels,tilePixels);
+    public static final TextureRegion texture = Sprites.region("light_bulb.png", 32,32,tilePixels,tilePixels);
 
     // List of collision actions associated with the light
     private static final List<CollisionActions> collisionActions = List.of(CollisionActions.LIGHT_ON);
@@ -46,7 +46,7 @@ public List<CollisionActions> getCollisionActions() {
     }
 
     // Sound effect played when the light object is collected
-    private static final Sound collisionSoundEffect = Gdx.audio.newSound(Gdx.files.internal("light_switch.wav"));
+    private static final Sound collisionSoundEffect = Assets.sound("light_switch.wav");
 
     public Sound getCollisionSoundEffect(){
         return collisionSoundEffect;
@@ -1,11 +1,11 @@
 package de.tum.cit.ase.maze.tiles;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Sound;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import de.tum.cit.ase.maze.Assets;
 import de.tum.cit.ase.maze.MazeMap;
 import de.tum.cit.ase.maze.Position;
+import de.tum.cit.ase.maze.Sprites;
 import de.tum.cit.ase.maze.enums.CollisionActions;
 
 import java.util.List;
@@ -17,24 +17,22 @@
 
 public class Exit extends Tile{
 
-    // Constants for exit tile properties
-    private static final float width = 1f;
-    private static final float height = 1f;
     private static final int tilePixels = 16;
-    private static final boolean walkable = false;
 
-    // Texture region for the exit tile
-    private static final TextureRegion textureClosedDoor = new TextureRegion(new Texture(Gdx.files.internal("basictiles.png")), 16, 96, tilePixels, tilePixels );
-    private static final TextureRegion textureOpenDoor = new TextureRegion(new Texture(Gdx.files.internal("things.png")), 64, 16, tilePixels, tilePixels );
+    // Texture region for the open exit, the closed one comes from TileType.EXIT
+    private static final TextureRegion textureOpenDoor = Sprites.region("things.png", 64, 16, tilePixels, tilePixels );
 
-    private static final Sound collisionSoundEffect = Gdx.audio.newSound(Gdx.files.internal("exit_gate_sound_effect.ogg"));
+    private static final Sound collisionSoundEffect = Assets.sound("exit_gate_sound_effect.ogg");
 
     // plays when key is collected
-    public static final Sound doorsOpenSoundEffect = Gdx.audio.newSound(Gdx.files.internal("stone_door.ogg"));
+    public static final Sound doorsOpenSoundEffect = Assets.sound("stone_door.ogg");
 
     private static final List<CollisionActions> collisionActions = List.of(CollisionActions.EXIT);
 
-    private float timeSinceLastCollisionAction = 0f;
+    /**
+     * game time of the last collision action, so the exit doesn't trigger every frame
+     */
+    private float lastCollisionActionTime;
 
     /**
      * Constructs a new Exit object.
@@ -44,21 +42,17 @@ public class Exit extends Tile{
      * @param position position of the Tile
      */
     public Exit(MazeMap mazeMap, Position position){
-        super(mazeMap, textureClosedDoor, width, height, position, walkable);
-    }
-
-    @Override
-    public void update(float delta){
-        super.update(delta);
-        timeSinceLastCollisionAction += delta;
+        super(mazeMap, TileType.EXIT, position);
+        lastCollisionActionTime = mazeMap.getTime();
     }
 
     @Override
     public List<CollisionActions> getCollisionActions() {
-        if(timeSinceLastCollisionAction < 0.5f){
+        float time = getMazeMap().getTime();
+        if(time - lastCollisionActionTime < 0.5f){
             return null;
         }
-        timeSinceLastCollisionAction = 0f;
+        lastCollisionActionTime = time;
         return collisionActions;
     }
 
@@ -70,7 +64,7 @@ public TextureRegion getTexture(){
         if(getMazeMap().getPlayer().isKeyCollected()){
             return textureOpenDoor;
         }else{
-            return textureClosedDoor;
+            return texture;
         }
 
     }
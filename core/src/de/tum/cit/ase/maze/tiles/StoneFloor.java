@@ -1,12 +1,7 @@
 package de.tum.cit.ase.maze.tiles;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import de.tum.cit.ase.maze.MazeMap;
-import de.tum.cit.ase.maze.Position;
 
-import java.util.Random;
 
 
 /**
@@ -15,21 +10,12 @@
  */
 public class StoneFloor extends Tile {
 
-    // Constants for grass tile properties
-    private static final float width = 1f;
-    private static final float height = 1f;
-    private static final int tilePixels = 16;
-    private static final boolean walkable = true;
-
-    private static final TextureRegion texture = new TextureRegion(new Texture(Gdx.files.internal("basictiles.png")), 96, 16, tilePixels, tilePixels );
-
     /**
-     * Constructs a new StoneFloor object.
+     * Constructs the stone floor view shared by all stone floor cells of the mazeMap, see MazeMap.getTile.
      *
      * @param mazeMap the mazeMap this gameobject belongs to
-     * @param position position of the Tile
      */
-    public StoneFloor(MazeMap mazeMap, Position position){
-        super(mazeMap, texture, width, height, position, walkable);
+    public StoneFloor(MazeMap mazeMap){
+        super(mazeMap, TileType.STONEFLOOR);
     }
 }
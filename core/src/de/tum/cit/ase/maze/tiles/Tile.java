@@ -8,22 +8,41 @@
 /**
  * The Tile class represents a generic tile in the Maze Runner game.
  * It extends the GameObject class and serves as a base class for specific tile implementations.
+ *
+ * The maze map doesn't keep Tile objects for its cells, it only knows their TileType. Only tiles with state (the Exit)
+ * are objects of their own. For all other cells MazeMap.getTile returns a view that is shared by every cell of its type:
+ * it isn't placed on a cell and can't be changed, the cell's bounding box comes from MazeMap.getTileBoundingBox
+ * and its texture from TileType.getTexture.
  */
 
 public abstract class Tile extends GameObject {
 
+    private final TileType type;
+
     /**
-     * Constructs a new Tile object with the specified attributes.
+     * Constructs a new Tile object with the texture, size and walkability of its type.
      *
      * @param mazeMap the mazeMap this gameobject belongs to
-     * @param texture  The TextureRegion representing the visual appearance of the tile.
-     * @param width    The width of the tile in game units.
-     * @param height   The height of the tile in game units.
-     * @param position position of the Trap
-     * @param walkable A boolean indicating whether the tile is walkable or blocks movement.
+     * @param type shared properties of the tile
+     * @param position position of the Tile
      */
-    public Tile(MazeMap mazeMap, TextureRegion texture, float width, float height, Position position, boolean walkable){
-        super(mazeMap, texture, width, height, position, walkable, Integer.MAX_VALUE);
+    public Tile(MazeMap mazeMap, TileType type, Position position){
+        super(mazeMap, type.getTexture((int) position.x, (int) position.y), TileType.SIZE, TileType.SIZE, position, type.isWalkable(), Integer.MAX_VALUE);
+        this.type = type;
+    }
+
+    /**
+     * Constructs the shared view of a tile type. It isn't placed on any cell and shows the first texture variant
+     *
+     * @param mazeMap the mazeMap this gameobject belongs to
+     * @param type shared properties of the tile
+     */
+    protected Tile(MazeMap mazeMap, TileType type){
+        this(mazeMap, type, new Position(0, 0));
+    }
+
+    public TileType getType() {
+        return type;
     }
 
     /**
@@ -52,6 +71,62 @@ public void destroy() {
     public void takeDamage(float damageDone) {
     }
 
+    /**
+     * Tells if this tile always shows the same texture. Such tiles get baked into the StaticTileLayer
+     * instead of being drawn every frame.
+     *
+     * @return the value of the tile's type
+     */
+    public boolean hasStaticTexture() {
+        return type.hasStaticTexture();
+    }
+
+    /**
+     * tiles can't move. does nothing
+     *
+     * @param x unused
+     * @param y unused
+     */
+    @Override
+    public void updatePosition(float x, float y) {
+    }
+
+    /**
+     * the walkability of a tile comes from its type. does nothing
+     *
+     * @param walkable unused
+     */
+    @Override
+    public void setWalkable(boolean walkable) {
+    }
+
+    /**
+     * the texture of a tile comes from its type. does nothing
+     *
+     * @param texture unused
+     */
+    @Override
+    public void setTexture(TextureRegion texture) {
+    }
+
+    /**
+     * all tiles have the size of their type. does nothing
+     *
+     * @param width unused
+     */
+    @Override
+    public void setWidth(float width) {
+    }
+
+    /**
+     * all tiles have the size of their type. does nothing
+     *
+     * @param height unused
+     */
+    @Override
+    public void setHeight(float height) {
+    }
+
     /**
      *  override bounding box to make tile bounding boxes slightly smaller than the tile so we don't hang at edges so often
      */
@@ -1,31 +1,56 @@
 package de.tum.cit.ase.maze.tiles;
 
 import de.tum.cit.ase.maze.MazeMap;
-import de.tum.cit.ase.maze.Position;
-import de.tum.cit.ase.maze.characters.Ghost;
+import de.tum.cit.ase.maze.enums.GameObjectID;
 
 /**
- * The TileCreator class is responsible for creating tiles based on the provided level.
- * It provides a static method to create a tile instance appropriate for a given level.
+ * The TileCreator class decides which tiles the cells of a maze have, based on the level.
+ * It decides which TileType a cell of the maze has and creates the shared views of the types.
  */
 
 public class TileCreator {
 
     /**
-     * Creates a tile based on the specified level.
+     * Returns the type of the tile in a cell with the given game object id.
+     * Cells without a wall, entry point or exit get the floor of the level.
      *
-     * @param mazeMap the mazeMap this gameobject belongs to
+     * @param gameObjectId game object id of the cell, MazeGrid.EMPTY for empty cells
      * @param level The level for which to create a tile.
-     * @param position position of the Tile
-     * @return A Tile object corresponding to the specified level.
+     * @return type of the tile in that cell
      */
-    public static Tile createTile(MazeMap mazeMap, Position position, int level){
-        if(level == 1){
-            return new Grass(mazeMap, position);
+    public static TileType getTileType(int gameObjectId, int level){
+        if(gameObjectId == GameObjectID.WALL.getId()){
+            return TileType.WALL;
+        }else if(gameObjectId == GameObjectID.ENTRYPOINT.getId()){
+            return TileType.ENTRYPOINT;
+        }else if(gameObjectId == GameObjectID.EXIT.getId()){
+            return TileType.EXIT;
         }else if(level == 2){
-            return new StoneFloor(mazeMap, position);
+            return TileType.STONEFLOOR;
         }
         // grass implemented for all levels
-        return new Grass(mazeMap, position);
+        return TileType.GRASS;
+    }
+
+    /**
+     * Creates the view shared by all cells of the specified type, see MazeMap.getTile.
+     *
+     * @param mazeMap the mazeMap this gameobject belongs to
+     * @param type type of the tile, anything but EXIT. Exits have state and are created per cell
+     * @return A Tile object of the given type.
+     */
+    public static Tile createTileView(MazeMap mazeMap, TileType type){
+        switch(type){
+            case WALL:
+                return new Wall(mazeMap);
+            case ENTRYPOINT:
+                return new EntryPoint(mazeMap);
+            case STONEFLOOR:
+                return new StoneFloor(mazeMap);
+            case GRASS:
+                return new Grass(mazeMap);
+            default:
+                throw new IllegalArgumentException("Tiles of type " + type + " have state and can't be shared");
+        }
     }
 }
@@ -0,0 +1,79 @@
+package de.tum.cit.ase.maze.tiles;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import de.tum.cit.ase.maze.Sprites;
+
+/**
+ * The TileType enum holds everything tiles of the same kind share: their texture variants, size and walkability.
+ *
+ * The maze map only stores which type each cell has, Tile objects are created from these descriptors when needed.
+ * Types with more than one texture variant pick one based on the position of the cell, so a cell always looks the same.
+ */
+
+public enum TileType {
+
+    WALL(false, true, Sprites.region("basictiles.png", 48, 0, TileType.tilePixels, TileType.tilePixels)),
+    ENTRYPOINT(true, true, Sprites.region("basictiles.png", 32, 96, TileType.tilePixels, TileType.tilePixels)),
+    // the door opens when the key is collected, so the exit has to be drawn every frame
+    EXIT(false, false, Sprites.region("basictiles.png", 16, 96, TileType.tilePixels, TileType.tilePixels)),
+    GRASS(true, true,
+            Sprites.region("basictiles.png", 49, 16, TileType.tilePixels-1, TileType.tilePixels), // this was grabbing a tiny bit from the yellow pixel to the left...
+            Sprites.region("basictiles.png", 64, 16, TileType.tilePixels, TileType.tilePixels),
+            Sprites.region("basictiles.png", 0, 128, TileType.tilePixels, TileType.tilePixels),
+            Sprites.region("basictiles.png", 16, 128, TileType.tilePixels, TileType.tilePixels)),
+    STONEFLOOR(true, true, Sprites.region("basictiles.png", 96, 16, TileType.tilePixels, TileType.tilePixels));
+
+    private static final int tilePixels = 16;
+
+    /**
+     * width and height of all tiles in game units
+     */
+    public static final float SIZE = 1f;
+
+    private final boolean walkable;
+    private final boolean staticTexture;
+    private final TextureRegion[] textures;
+
+    private TileType(boolean walkable, boolean staticTexture, TextureRegion... textures){
+        this.walkable = walkable;
+        this.staticTexture = staticTexture;
+        this.textures = textures;
+    }
+
+    public boolean isWalkable() {
+        return walkable;
+    }
+
+    /**
+     * Tells if tiles of this type always show the same texture. Such tiles get baked into the StaticTileLayer
+     * instead of being drawn every frame.
+     *
+     * @return false if the texture can change while the game runs
+     */
+    public boolean hasStaticTexture() {
+        return staticTexture;
+    }
+
+    /**
+     * Returns the texture variant of the cell. Picked by a hash of the position, so it's the same every time
+     *
+     * @param x cell x coordinate
+     * @param y cell y coordinate
+     * @return index of the texture variant
+     */
+    public int getVariant(int x, int y){
+        if(textures.length == 1){
+            return 0;
+        }
+        return Math.floorMod(x * 73856093 ^ y * 19349663, textures.length);
+    }
+
+    /**
+     * @param x cell x coordinate
+     * @param y cell y coordinate
+     * @return texture of a tile of this type in the given cell
+     */
+    public TextureRegion getTexture(int x, int y){
+        return textures[getVariant(x, y)];
+    }
+}
@@ -1,13 +1,13 @@
 package de.tum.cit.ase.maze.traps;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Sound;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.utils.Array;
+import de.tum.cit.ase.maze.Assets;
 import de.tum.cit.ase.maze.MazeMap;
 import de.tum.cit.ase.maze.Position;
+import de.tum.cit.ase.maze.Sprites;
 import de.tum.cit.ase.maze.enums.CollisionActions;
 import de.tum.cit.ase.maze.traps.Trap;
 import java.util.List;
@@ -25,14 +25,17 @@ public class Fire extends Trap {
     private static final boolean walkable = true;
 
     // Texture region for the firetrap
-    private static final TextureRegion texture = new TextureRegion(new Texture(Gdx.files.internal("objects.png")), 16*5, 16*3, tilePixels, tilePixels);
+    private static final TextureRegion texture = Sprites.region("objects.png", 16*5, 16*3, tilePixels, tilePixels);
 
     // Animation for the firetrap
     private static final Animation<TextureRegion> fireAnimation = Fire.loadFireTrapAnimation();
-    private static final Sound collisionSoundEffect = Gdx.audio.newSound(Gdx.files.internal("fire_sound_effect.ogg"));
+    private static final Sound collisionSoundEffect = Assets.sound("fire_sound_effect.ogg");
 
-    private float timeSinceLastDamage;
-    private float animationTime;
+    /**
+     * game times of the last damage done and of the start of the animation
+     */
+    private float lastDamageTime;
+    private float animationStartTime;
     private static final List<CollisionActions> collisionActions = List.of(CollisionActions.TAKE_DAMAGE);
 
     private static final float boundingBoxWidthFactor = 0.7f; // 15% off on both sides
@@ -47,7 +50,7 @@ public class Fire extends Trap {
      * @return Animation object representing the firetrap animation.
      */
     private static Animation<TextureRegion> loadFireTrapAnimation(){
-        Texture walkSheet = new Texture(Gdx.files.internal("objects.png"));
+        TextureRegion walkSheet = Sprites.sheet("objects.png");
 
         Array<TextureRegion> fire = new Array<>(TextureRegion.class); // Deniz 30.12
 
@@ -74,15 +77,8 @@ private static Animation<TextureRegion> loadFireTrapAnimation(){
     public Fire(MazeMap mazeMap, Position position){
         super(mazeMap, texture, width, height, position, walkable, Integer.MAX_VALUE);
         // pick a random starting point for the animation
-        animationTime = (float)(Math.random() * fireAnimation.getKeyFrames().length * fireAnimation.getAnimationDuration());
-        timeSinceLastDamage = Float.MAX_VALUE;
-    }
-
-    @Override
-    public void update(float delta){
-        super.update(delta);
-        animationTime += delta;
-        timeSinceLastDamage += delta;
+        animationStartTime = mazeMap.getTime() - (float)(Math.random() * fireAnimation.getKeyFrames().length * fireAnimation.getAnimationDuration());
+        lastDamageTime = -Float.MAX_VALUE;
     }
 
     public float getDamageDone(){
@@ -90,8 +86,9 @@ public float getDamageDone(){
     }
 
     public List<CollisionActions> getCollisionActions(){
-        if(timeSinceLastDamage > 1.0f) {
-            timeSinceLastDamage = 0f;
+        float time = getMazeMap().getTime();
+        if(time - lastDamageTime > 1.0f) {
+            lastDamageTime = time;
             return collisionActions;
         }else{
             return null;
@@ -110,7 +107,7 @@ public Sound getCollisionSoundEffect(){
      */
     @Override
     public TextureRegion getTexture(){
-        return fireAnimation.getKeyFrame(animationTime, true);
+        return fireAnimation.getKeyFrame(getMazeMap().getTime() - animationStartTime, true);
     }
 
     public void updateBoundingBox(){
@@ -1,12 +1,14 @@
 package de.tum.cit.ase.maze.traps;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Sound;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import de.tum.cit.ase.maze.Assets;
 import de.tum.cit.ase.maze.MazeMap;
 import de.tum.cit.ase.maze.Position;
+import de.tum.cit.ase.maze.SoundService;
+import de.tum.cit.ase.maze.Sprites;
+import de.tum.cit.ase.maze.TimerWheel;
 import de.tum.cit.ase.maze.enums.CollisionActions;
 
 import java.util.List;
@@ -23,10 +25,10 @@ public class TimedSpikes  extends Trap {
     private static final boolean walkable = true;
 
     // non animated Texture region for the spike trap
-    private static final TextureRegion texture = new TextureRegion(new Texture(Gdx.files.internal("spikes.png")), 0, 0, tilePixels, tilePixels);
+    private static final TextureRegion texture = Sprites.region("spikes.png", 0, 0, tilePixels, tilePixels);
 
     // Animation for the spike trap
-    private static final Texture spikeTexture = new Texture(Gdx.files.internal("spikes.png"));
+    private static final TextureRegion spikeTexture = Sprites.sheet("spikes.png");
     private static final TextureRegion[] spikeOutFrames = {
             new TextureRegion(spikeTexture, 0, 0, 128, 128),
             new TextureRegion(spikeTexture, 128, 0, 128, 128),
@@ -44,7 +46,7 @@ public class TimedSpikes  extends Trap {
     };
 
     private static final Animation<TextureRegion> spikeInAnimation = new Animation<>(0.075f, spikeInFrames);
-    private static final Sound triggerSoundEffect = Gdx.audio.newSound(Gdx.files.internal("spikes_sound.wav"));
+    private static final Sound triggerSoundEffect = Assets.sound("spikes_sound.wav");
 
     private static final List<CollisionActions> collisionActions = List.of(CollisionActions.STUCK, CollisionActions.TAKE_DAMAGE);
 
@@ -59,8 +61,17 @@ public class TimedSpikes  extends Trap {
     private static final float damageCooldown = outTime+spikeInAnimation.getAnimationDuration();
 
     private boolean retracted;
-    private float timeSinceLastDamage;
-    private float animationTime;
+
+    /**
+     * game times of the last damage done and of the last time the spikes went in or out
+     */
+    private float lastDamageTime;
+    private float animationStartTime;
+
+    /**
+     * moves the spikes in or out when it fires
+     */
+    private final TimerWheel.Timer toggleTimer = new TimerWheel.Timer(this::toggle);
 
     /**
      *
@@ -72,32 +83,32 @@ public class TimedSpikes  extends Trap {
      */
     public TimedSpikes(MazeMap mazeMap, Position position, boolean retracted){
         super(mazeMap, texture, width, height, position, walkable, Integer.MAX_VALUE);
-        animationTime = 0f;
-        timeSinceLastDamage = Float.MAX_VALUE;
+        float animationTime = 0f;
+        lastDamageTime = -Float.MAX_VALUE;
         this.retracted = retracted; // start retracted
         if(retracted){
             animationTime = (retractedTime - outTime) / 2f;
         }
+        animationStartTime = mazeMap.getTime() - animationTime;
+        mazeMap.getTimers().schedule(toggleTimer, (retracted ? retractedTime : outTime) - animationTime);
     }
 
-    @Override
-    public void update(float delta){
-        super.update(delta);
-        animationTime += delta;
-        timeSinceLastDamage += delta;
-        if(retracted && animationTime > retractedTime){
+    /**
+     * moves the spikes out if they are retracted and the other way around, then schedules the next toggle
+     */
+    private void toggle(){
+        if(retracted){
             // within earshot
-            if(distance(getMazeMap().getPlayer()) < 4){
-                triggerSoundEffect.play();
-            }
-            setWalkable(false);
+            getMazeMap().getSounds().play(triggerSoundEffect, SoundService.PRIORITY_LOW, getPosition().x, getPosition().y, 4);
+            // isWalkable() depends on retracted, so change it before telling the map
             retracted = false;
-            animationTime = 0f;
-        }else if(!retracted && animationTime > outTime){
+            setWalkable(false);
+        }else{
             retracted = true;
             setWalkable(true);
-            animationTime = 0;
         }
+        animationStartTime = getMazeMap().getTime();
+        getMazeMap().getTimers().schedule(toggleTimer, retracted ? retractedTime : outTime);
     }
 
     public float getDamageDone(){
@@ -105,10 +116,11 @@ public float getDamageDone(){
     }
 
     public List<CollisionActions> getCollisionActions(){
-        if(retracted || timeSinceLastDamage < damageCooldown){
+        float time = getMazeMap().getTime();
+        if(retracted || time - lastDamageTime < damageCooldown){
             return null;
         }else {
-            timeSinceLastDamage = 0f;
+            lastDamageTime = time;
             return collisionActions;
         }
     }
@@ -125,6 +137,7 @@ public Sound getCollisionSoundEffect(){
      */
     @Override
     public TextureRegion getTexture(){
+        float animationTime = getMazeMap().getTime() - animationStartTime;
         if(retracted){
             return spikeInAnimation.getKeyFrame(animationTime);
         }else{
@@ -141,7 +154,7 @@ public float getStuckDuration(){
         if(retracted){
             return 0;
         }else{
-            return Math.max(outTime - animationTime+0.2f, 0.3f);
+            return Math.max(outTime - (getMazeMap().getTime() - animationStartTime)+0.2f, 0.3f);
         }
     }
 
@@ -1,12 +1,14 @@
 package de.tum.cit.ase.maze.traps;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Sound;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import de.tum.cit.ase.maze.Assets;
 import de.tum.cit.ase.maze.MazeMap;
 import de.tum.cit.ase.maze.Position;
+import de.tum.cit.ase.maze.SoundService;
+import de.tum.cit.ase.maze.Sprites;
+import de.tum.cit.ase.maze.TimerWheel;
 import de.tum.cit.ase.maze.enums.CollisionActions;
 
 import java.util.List;
@@ -23,10 +25,10 @@ public class TriggerSpikes extends Trap {
     private static final boolean walkable = true;
 
     // Non-animated Texture region for the spike trap
-    private static final TextureRegion texture = new TextureRegion(new Texture(Gdx.files.internal("spikes.png")), 0, 0, tilePixels, tilePixels);
+    private static final TextureRegion texture = Sprites.region("spikes.png", 0, 0, tilePixels, tilePixels);
 
     // Animation for the spike trap
-    private static final Texture spikeTexture = new Texture(Gdx.files.internal("spikes.png"));
+    private static final TextureRegion spikeTexture = Sprites.sheet("spikes.png");
     private static final TextureRegion[] spikeOutFrames = {
             new TextureRegion(spikeTexture, 0, 0, 128, 128),
             new TextureRegion(spikeTexture, 128, 0, 128, 128),
@@ -44,7 +46,7 @@ public class TriggerSpikes extends Trap {
     };
 
     private static final Animation<TextureRegion> spikeInAnimation = new Animation<>(0.1f, spikeInFrames);
-    private static final Sound triggerSoundEffect = Gdx.audio.newSound(Gdx.files.internal("spikes_sound.wav"));
+    private static final Sound triggerSoundEffect = Assets.sound("spikes_sound.wav");
 
     private static final List<CollisionActions> collisionActions = List.of(CollisionActions.STUCK, CollisionActions.TAKE_DAMAGE);
 
@@ -62,9 +64,15 @@ public class TriggerSpikes extends Trap {
 
     private boolean retracted;
     private boolean triggered;
-    private float triggerTime;
-    private float timeSinceLastDamage;
-    private float animationTime;
+    /**
+     * game times of the last trigger, the last damage done and the start of the animation
+     */
+    private float triggerStartTime;
+    private float lastDamageTime;
+    private float animationStartTime;
+
+    private final TimerWheel.Timer extendTimer = new TimerWheel.Timer(this::extend);
+    private final TimerWheel.Timer retractTimer = new TimerWheel.Timer(this::retract);
 
     /**
      * Constructs a new triggered Spike trap.
@@ -74,35 +82,32 @@ public class TriggerSpikes extends Trap {
      */
     public TriggerSpikes(MazeMap mazeMap, Position position){
         super(mazeMap, texture, width, height, position, walkable, Integer.MAX_VALUE);
-        triggerTime = triggerCooldown + 1; // start after cool down
-        animationTime = 0f;
-        timeSinceLastDamage = Float.MAX_VALUE;
+        triggerStartTime = mazeMap.getTime() - triggerCooldown - 1; // start after cool down
+        animationStartTime = mazeMap.getTime();
+        lastDamageTime = -Float.MAX_VALUE;
         retracted = true; // start retracted
         triggered = false; // start not triggered
     }
 
     /**
-     * Updates the state of the spike trap.
-     *
-     * @param delta time since the last update
+     * moves the spikes out triggerDelay after they were triggered
      */
-    @Override
-    public void update(float delta){
-        super.update(delta);
-        animationTime += delta;
-        triggerTime += delta;
-        timeSinceLastDamage += delta;
-        if(retracted && triggered && triggerTime > triggerDelay){
-            retracted = false;
-            setWalkable(false);
-            animationTime = 0;
-            triggerSoundEffect.play();
-            // last animation frame doesn't damage
-        }else if(!retracted && triggerTime > retractDelay + spikeInAnimation.getFrameDuration() * 3){
-            retracted = true;
-            triggered = false;
-            setWalkable(true);
-        }
+    private void extend(){
+        retracted = false;
+        setWalkable(false);
+        animationStartTime = getMazeMap().getTime();
+        getMazeMap().getSounds().play(triggerSoundEffect, SoundService.PRIORITY_NORMAL);
+        // last animation frame doesn't damage
+        getMazeMap().getTimers().schedule(retractTimer, retractDelay + spikeInAnimation.getFrameDuration() * 3 - triggerDelay);
+    }
+
+    /**
+     * retracts the spikes, they can be triggered again after the cool down
+     */
+    private void retract(){
+        retracted = true;
+        triggered = false;
+        setWalkable(true);
     }
 
     public float getDamageDone(){
@@ -110,13 +115,16 @@ public float getDamageDone(){
     }
 
     public List<CollisionActions> getCollisionActions(){
+        float time = getMazeMap().getTime();
+        float triggerTime = time - triggerStartTime;
         if(retracted && triggerTime > triggerCooldown){
             System.out.println("Spike trap triggered");
             triggered = true;
-            triggerTime = 0f;
+            triggerStartTime = time;
+            getMazeMap().getTimers().schedule(extendTimer, triggerDelay);
             return null;
-        }else if(!retracted && timeSinceLastDamage > damageCooldown && triggerTime > triggerDelay) {
-            timeSinceLastDamage = 0f;
+        }else if(!retracted && time - lastDamageTime > damageCooldown && triggerTime > triggerDelay) {
+            lastDamageTime = time;
             return collisionActions;
         }
 
@@ -133,13 +141,14 @@ public TextureRegion getTexture(){
         if(retracted){
             return texture;
         }else{
-            if(triggerTime > retractDelay){
-                if(animationTime > retractDelay-triggerDelay-0.1f){
-                    animationTime = 0;
+            float time = getMazeMap().getTime();
+            if(time - triggerStartTime > retractDelay){
+                if(time - animationStartTime > retractDelay-triggerDelay-0.1f){
+                    animationStartTime = time;
                 }
-                return spikeInAnimation.getKeyFrame(animationTime);
+                return spikeInAnimation.getKeyFrame(time - animationStartTime);
             }else{
-                return spikeOutAnimation.getKeyFrame(animationTime);
+                return spikeOutAnimation.getKeyFrame(time - animationStartTime);
             }
         }
     }
@@ -150,7 +159,7 @@ public void updateBoundingBox(){
     }
 
     public float getStuckDuration(){
-        return Math.max(retractDelay-triggerTime+0.2f, 0.5f);
+        return Math.max(retractDelay-(getMazeMap().getTime()-triggerStartTime)+0.2f, 0.5f);
     }
 
 }
\ No newline at end of file
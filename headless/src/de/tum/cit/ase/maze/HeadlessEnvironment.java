@@ -0,0 +1,59 @@
+package de.tum.cit.ase.maze;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * HeadlessEnvironment sets up libGDX without a window, a GL context or audio, so maze maps and game objects
+ * can be created on any thread. Used by the HeadlessLauncher and the benchmarks.
+ *
+ * Textures are still created by the static fields of the game objects, but uploading them goes to a GL stub that does nothing,
+ * and sounds are the silent ones of the headless backend.
+ */
+public class HeadlessEnvironment {
+
+    private static boolean started = false;
+
+    private HeadlessEnvironment() {
+    }
+
+    /**
+     * Sets up Gdx.files, Gdx.audio, Gdx.gl and the natives. Does nothing if it was already called
+     */
+    public static synchronized void start(){
+        if(started){
+            return;
+        }
+        started = true;
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        // no render loop, the application thread ends right after create()
+        config.updatesPerSecond = -1;
+        new HeadlessApplication(new ApplicationAdapter() {}, config);
+        Gdx.gl = Gdx.gl20 = createNoopGL();
+    }
+
+    /**
+     * The headless backend has no GL. Textures created by the game objects only need their GL calls to not fail,
+     * so every GL call is answered with 0, false or null
+     */
+    private static GL20 createNoopGL(){
+        return (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[]{GL20.class}, (proxy, method, args) -> {
+            Class<?> returnType = method.getReturnType();
+            if(returnType == int.class){
+                return 0;
+            }else if(returnType == boolean.class){
+                return false;
+            }else if(returnType == float.class){
+                return 0f;
+            }else if(returnType == String.class){
+                return "";
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,113 @@
+package de.tum.cit.ase.maze;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import de.tum.cit.ase.maze.enums.Direction;
+import de.tum.cit.ase.maze.enums.PlayerAction;
+
+import java.io.File;
+import java.util.Random;
+
+/**
+ * The HeadlessLauncher runs a maze without a window, a GL context or audio and reports how many simulation steps
+ * per second the game logic manages. Used for load tests and benchmarks on machines without a display.
+ *
+ * The maze map, the AI and the traps run exactly as in the game, only the GameScreen is missing.
+ * The player is steered by a seeded random walk, so runs with the same arguments do the same thing.
+ * When the player dies or reaches the exit the maze is started again, like the game would after the game over screen.
+ * See HeadlessEnvironment for how textures and sounds work without a GL context and audio device.
+ */
+public class HeadlessLauncher {
+
+    /**
+     * game time simulated if no number of steps is given, 10 minutes at the default tick rate
+     */
+    private static final int DEFAULT_STEPS = 10 * 60 * GameSimulation.DEFAULT_TICKS_PER_SECOND;
+
+    /**
+     * how many steps the random walk keeps a direction
+     */
+    private static final int STEPS_PER_DIRECTION = 30;
+
+    /**
+     * Runs a maze headless
+     *
+     * @param arg maze file (.properties or .maze), optionally followed by the number of steps and the level
+     */
+    public static void main(String[] arg) {
+        if(arg.length < 1){
+            System.err.println("Usage: HeadlessLauncher <maze file> [steps] [level]");
+            System.exit(1);
+        }
+        String mazeFile = arg[0];
+        int steps = arg.length > 1 ? Integer.parseInt(arg[1]) : DEFAULT_STEPS;
+        int level = arg.length > 2 ? Integer.parseInt(arg[2]) : 100; // same as a maze loaded through the file chooser
+
+        HeadlessEnvironment.start();
+        try {
+            run(Gdx.files.absolute(new File(mazeFile).getAbsolutePath()), steps, level);
+        } catch (Exception exception) {
+            System.err.println("Error running maze file: " + exception.getMessage());
+            exception.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Loads the maze and runs the given number of simulation steps as fast as possible
+     */
+    private static void run(FileHandle fileHandle, int steps, int level) throws Exception {
+        long loadStart = System.nanoTime();
+        MazeGrid grid = MazeRunnerGame.readMazeFile(fileHandle);
+        MazeMap mazeMap = new MazeMap(grid, level);
+        System.out.println(String.format("Loaded %s (%dx%d) in %d ms", fileHandle.name(), mazeMap.getWidth(), mazeMap.getHeight(), (System.nanoTime() - loadStart) / 1_000_000));
+
+        int ticksPerSecond = Integer.getInteger("maze.ticksPerSecond", GameSimulation.DEFAULT_TICKS_PER_SECOND);
+        GameSimulation simulation = new GameSimulation(mazeMap, ticksPerSecond);
+        Random random = new Random(42);
+        Direction[] directions = Direction.values();
+        int restarts = 0;
+        long restartNanos = 0;
+        long soundRequests = 0;
+        long soundsPlayed = 0;
+
+        long start = System.nanoTime();
+        for(int i = 0; i < steps; i++){
+            if(i % STEPS_PER_DIRECTION == 0){
+                // stand still now and then, otherwise walk in a random direction
+                int choice = random.nextInt(directions.length + 1);
+                simulation.setMoveDirection(choice < directions.length ? directions[choice] : null);
+                if(random.nextInt(4) == 0){
+                    simulation.queue(random.nextBoolean() ? PlayerAction.DASH : PlayerAction.ATTACK);
+                }
+            }
+            simulation.step();
+            // one step per frame, like the GameScreen at the default tick rate
+            mazeMap.getSounds().playQueued();
+
+            if(mazeMap.getPlayer().getHealth() <= 0.0f || mazeMap.getPlayer().isVictory()){
+                // game over or won, start the same maze again. Not counted as simulation time
+                long restartStart = System.nanoTime();
+                soundRequests += mazeMap.getSounds().getRequestCount();
+                soundsPlayed += mazeMap.getSounds().getPlayCount();
+                mazeMap.getWorld().dispose();
+                mazeMap = new MazeMap(grid, level);
+                simulation = new GameSimulation(mazeMap, ticksPerSecond);
+                restarts++;
+                restartNanos += System.nanoTime() - restartStart;
+            }
+        }
+        long nanos = System.nanoTime() - start - restartNanos;
+
+        double seconds = nanos / 1e9;
+        float gameSeconds = steps * simulation.getStepDuration();
+        System.out.println(String.format("%d steps (%.1f s of game time) in %.3f s: %.0f steps/s, %.1f x real time",
+                steps, gameSeconds, seconds, steps / seconds, gameSeconds / seconds));
+        System.out.println(String.format("%d sounds requested, %d played. Last run: %s", soundRequests + mazeMap.getSounds().getRequestCount(),
+                soundsPlayed + mazeMap.getSounds().getPlayCount(), mazeMap.getSounds().getStats()));
+        System.out.println(String.format("Maze restarted %d times (%d ms, not included)", restarts, restartNanos / 1_000_000));
+        System.out.println(String.format("%d dynamic objects, %d active objects, %d timers scheduled, %d fired, player health %.1f",
+                mazeMap.getDynamicObjects().size(), mazeMap.getScheduler().getActiveCount(), mazeMap.getTimers().size(),
+                mazeMap.getTimers().getFiredCount(), mazeMap.getPlayer().getHealth()));
+    }
+}
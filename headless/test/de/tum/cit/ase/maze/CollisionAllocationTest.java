@@ -0,0 +1,189 @@
+package de.tum.cit.ase.maze;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.math.Rectangle;
+import de.tum.cit.ase.maze.characters.Character;
+import de.tum.cit.ase.maze.characters.Ghost;
+import de.tum.cit.ase.maze.characters.Player;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The collision checks run for every move of every character and up to 20 times per dash,
+ * so once the result lists have grown to their size they must not allocate anything.
+ *
+ * Measured with the allocation counter of the current thread around a loop of checks at random positions of level 4.
+ * Every test first runs the same loop a few times, so the JIT has compiled it and one-time side effects of collisions
+ * (picking up the key, the first damage, ...) have happened before counting starts.
+ * The JVM itself sometimes allocates a few hundred bytes while it moves a loop to a higher compilation tier,
+ * so the loop is measured up to MEASUREMENTS times and one run without any allocation passes.
+ * An allocation per check would show up in every run, with at least MEASURED_ROUNDS * PROBES * 16 bytes.
+ */
+public class CollisionAllocationTest {
+
+    private static final int PROBES = 1024;
+
+    private static final int WARM_UP_ROUNDS = 50;
+
+    private static final int MEASURED_ROUNDS = 100;
+
+    private static final int MEASUREMENTS = 5;
+
+    private static final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private MazeMap mazeMap;
+    private Player player;
+    private Ghost ghost;
+    private final float[] probeX = new float[PROBES];
+    private final float[] probeY = new float[PROBES];
+
+    @BeforeAll
+    public static void startEnvironment() {
+        HeadlessEnvironment.start();
+    }
+
+    /**
+     * a new maze for every test, so a test that changes the player (e.g. attacking) doesn't affect the others
+     */
+    @BeforeEach
+    public void setUp() throws Exception {
+        File file = new File(System.getProperty("maze.mapsDir", "../maps"), "level-4.properties");
+        mazeMap = new MazeMap(MazeRunnerGame.readMazeFile(Gdx.files.absolute(file.getAbsolutePath())), 4);
+        player = mazeMap.getPlayer();
+        for(GameObject gameObject : mazeMap.getDynamicObjects()){
+            if(gameObject instanceof Ghost){
+                ghost = (Ghost) gameObject;
+                break;
+            }
+        }
+        assertNotNull(ghost, "level 4 should have a ghost");
+
+        Random random = new Random(7);
+        int i = 0;
+        while(i < PROBES){
+            int x = random.nextInt(mazeMap.getWidth());
+            int y = random.nextInt(mazeMap.getHeight());
+            if(mazeMap.isTileWalkable(x, y)){
+                probeX[i] = x + random.nextFloat() * 0.5f;
+                probeY[i] = y + random.nextFloat() * 0.5f;
+                i++;
+            }
+        }
+    }
+
+    @Test
+    public void getCollisionsDoesNotAllocate() {
+        Rectangle boundingBox = new Rectangle();
+        List<GameObject> collisions = new ArrayList<>();
+
+        // the first rounds grow the result lists to the most collisions of any probe
+        int found = checkCollisions(boundingBox, collisions, WARM_UP_ROUNDS);
+        assertTrue(found > 0, "the probes should collide with something");
+
+        assertDoesNotAllocate(() -> checkCollisions(boundingBox, collisions, MEASURED_ROUNDS), "bytes allocated by " + MEASURED_ROUNDS * PROBES + " collision checks");
+    }
+
+    @Test
+    public void characterAttemptMoveToDoesNotAllocateForThePlayer() {
+        int blocked = attemptMoves(player, WARM_UP_ROUNDS);
+        assertTrue(blocked > 0, "some probes should be blocked");
+
+        assertDoesNotAllocate(() -> attemptMoves(player, MEASURED_ROUNDS), "bytes allocated by " + MEASURED_ROUNDS * PROBES + " moves of the player");
+    }
+
+    @Test
+    public void characterAttemptMoveToDoesNotAllocateForAGhost() {
+        int blocked = attemptMoves(ghost, WARM_UP_ROUNDS);
+        assertTrue(blocked > 0, "some probes should be blocked");
+
+        assertDoesNotAllocate(() -> attemptMoves(ghost, MEASURED_ROUNDS), "bytes allocated by " + MEASURED_ROUNDS * PROBES + " moves of a ghost");
+    }
+
+    @Test
+    public void getBoundingBoxAtPositionDoesNotAllocate() {
+        Rectangle boundingBox = new Rectangle();
+        boundingBoxes(boundingBox, WARM_UP_ROUNDS);
+
+        assertDoesNotAllocate(() -> boundingBoxes(boundingBox, MEASURED_ROUNDS), "bytes allocated by " + MEASURED_ROUNDS * PROBES + " bounding boxes of the player and a ghost");
+    }
+
+    @Test
+    public void getBoundingBoxAtPositionDoesNotAllocateWhileAttacking() {
+        Rectangle boundingBox = new Rectangle();
+        float width = player.getBoundingBoxAtPosition(0, 0, boundingBox).getWidth();
+        // the player stays in the attack until the next update
+        player.attack();
+        assertTrue(player.isAttacking(), "the player should be attacking");
+        assertEquals(width, player.getBoundingBoxAtPosition(0, 0, boundingBox).getWidth(), 0.0001f, "the attack shouldn't change the width of the bounding box");
+        boundingBoxes(boundingBox, WARM_UP_ROUNDS);
+
+        assertDoesNotAllocate(() -> boundingBoxes(boundingBox, MEASURED_ROUNDS), "bytes allocated by " + MEASURED_ROUNDS * PROBES + " bounding boxes of the attacking player");
+    }
+
+    /**
+     * @return number of collisions found over all rounds
+     */
+    private int checkCollisions(Rectangle boundingBox, List<GameObject> collisions, int rounds){
+        int found = 0;
+        for(int round = 0; round < rounds; round++){
+            for(int i = 0; i < PROBES; i++){
+                boundingBox.set(probeX[i], probeY[i], 0.7f, 0.9f);
+                found += mazeMap.getCollisions(boundingBox, player, collisions).size();
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return number of moves that were blocked over all rounds
+     */
+    private int attemptMoves(Character character, int rounds){
+        int blocked = 0;
+        for(int round = 0; round < rounds; round++){
+            for(int i = 0; i < PROBES; i++){
+                if(!mazeMap.characterAttemptMoveTo(character, probeX[i], probeY[i])){
+                    blocked++;
+                }
+            }
+        }
+        return blocked;
+    }
+
+    private void boundingBoxes(Rectangle boundingBox, int rounds){
+        for(int round = 0; round < rounds; round++){
+            for(int i = 0; i < PROBES; i++){
+                player.getBoundingBoxAtPosition(probeX[i], probeY[i], boundingBox);
+                ghost.getBoundingBoxAtPosition(probeX[i], probeY[i], boundingBox);
+            }
+        }
+    }
+
+    /**
+     * runs the loop up to MEASUREMENTS times and fails if every run allocated something
+     */
+    private static void assertDoesNotAllocate(Runnable loop, String message){
+        long fewest = Long.MAX_VALUE;
+        for(int i = 0; i < MEASUREMENTS && fewest > 0; i++){
+            long before = allocatedBytes();
+            loop.run();
+            long after = allocatedBytes();
+            fewest = Math.min(fewest, after - before);
+        }
+        assertEquals(0, fewest, message);
+    }
+
+    private static long allocatedBytes(){
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,98 @@
+package de.tum.cit.ase.maze;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Stress test of the TimerWheel with the traps of a huge maze: 100,000 timers that go in and out like TimedSpikes
+ * (4s retracted, 2s out) for a minute of game time at 60 frames per second.
+ *
+ * Every trap is also run the way traps worked before the wheel, adding up the frame deltas in an accumulator,
+ * and has to toggle as often on the wheel. The wheel fires at the first tick of 1/64s after the deadline
+ * and the accumulator at the first frame, so a trap may lag one toggle behind at the end of the minute, never more.
+ */
+public class TimerWheelTest {
+
+    private static final int TRAPS = 100_000;
+
+    private static final int FRAMES = 60 * 60;
+
+    private static final float FRAME_DURATION = 1f / 60f;
+
+    private static final float RETRACTED_TIME = 4f;
+    private static final float OUT_TIME = 2f;
+
+    /**
+     * a trap on the wheel, toggles and schedules itself again like TimedSpikes
+     */
+    private static class Spike {
+        private final TimerWheel wheel;
+        private final TimerWheel.Timer toggleTimer = new TimerWheel.Timer(this::toggle);
+        private boolean retracted;
+        private int toggles = 0;
+
+        private Spike(TimerWheel wheel, boolean retracted) {
+            this.wheel = wheel;
+            this.retracted = retracted;
+        }
+
+        private void toggle(){
+            retracted = !retracted;
+            toggles++;
+            wheel.schedule(toggleTimer, retracted ? RETRACTED_TIME : OUT_TIME);
+        }
+    }
+
+    @Test
+    public void wheelTogglesLikeAccumulators() {
+        TimerWheel wheel = new TimerWheel();
+        Spike[] spikes = new Spike[TRAPS];
+        boolean[] retracted = new boolean[TRAPS];
+        float[] elapsed = new float[TRAPS];
+        int[] toggles = new int[TRAPS];
+
+        // every trap starts at a random point of its cycle
+        Random random = new Random(7);
+        for(int i = 0; i < TRAPS; i++){
+            retracted[i] = random.nextBoolean();
+            float duration = retracted[i] ? RETRACTED_TIME : OUT_TIME;
+            elapsed[i] = random.nextFloat() * duration;
+            spikes[i] = new Spike(wheel, retracted[i]);
+            wheel.schedule(spikes[i].toggleTimer, duration - elapsed[i]);
+        }
+
+        double time = 0.0;
+        for(int frame = 0; frame < FRAMES; frame++){
+            time += FRAME_DURATION;
+            wheel.advance(time);
+            for(int i = 0; i < TRAPS; i++){
+                elapsed[i] += FRAME_DURATION;
+                if(elapsed[i] >= (retracted[i] ? RETRACTED_TIME : OUT_TIME)){
+                    retracted[i] = !retracted[i];
+                    elapsed[i] = 0f;
+                    toggles[i]++;
+                }
+            }
+        }
+
+        long wheelToggles = 0;
+        long accumulatorToggles = 0;
+        for(int i = 0; i < TRAPS; i++){
+            int trap = i;
+            int difference = toggles[i] - spikes[i].toggles;
+            assertTrue(difference == 0 || difference == 1, () -> "trap " + trap + " toggled " + spikes[trap].toggles + " times on the wheel and " + toggles[trap] + " times with an accumulator");
+            wheelToggles += spikes[i].toggles;
+            accumulatorToggles += toggles[i];
+        }
+
+        // a cycle of 6s has two toggles, so a minute has 20 per trap
+        assertTrue(Math.abs(wheelToggles - 20L * TRAPS) <= TRAPS, "toggles on the wheel: " + wheelToggles);
+        assertEquals(wheelToggles, wheel.getFiredCount());
+        assertEquals(TRAPS, wheel.size(), "every trap should have its next toggle scheduled");
+        System.out.println(String.format("%d traps for %d frames: %d toggles on the wheel, %d with accumulators", TRAPS, FRAMES, wheelToggles, accumulatorToggles));
+    }
+}